@@ -1,41 +1,99 @@
 package de.turing85.quarkus.health.as.metrics.deployment;
 
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 
 import jakarta.inject.Singleton;
 
-import de.turing85.quarkus.health.as.metrics.runtime.Config;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthAsMetricsBuildTimeConfig;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthDiscovery;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthExecutor;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthSeriesGuard;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthStatusGauges;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthTimers;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthTransitions;
+import de.turing85.quarkus.health.as.metrics.runtime.cache.HealthResultCaches;
+import de.turing85.quarkus.health.as.metrics.runtime.checks.HealthCheckNamesRecorder;
 import de.turing85.quarkus.health.as.metrics.runtime.checks.HealthChecksMetricsRegistrar;
+import de.turing85.quarkus.health.as.metrics.runtime.checks.SharedHealthCheckResult;
+import de.turing85.quarkus.health.as.metrics.runtime.checks.SharedHealthCheckResultInterceptor;
+import de.turing85.quarkus.health.as.metrics.runtime.datamappers.ConfiguredMappers;
+import de.turing85.quarkus.health.as.metrics.runtime.datamappers.DataMapperDispatcher;
 import de.turing85.quarkus.health.as.metrics.runtime.datamappers.DefaultMappersRecorder;
 import de.turing85.quarkus.health.as.metrics.runtime.datamappers.HealthResponseDataMapper;
+import de.turing85.quarkus.health.as.metrics.runtime.datamappers.HealthResponseValueMapper;
+import de.turing85.quarkus.health.as.metrics.runtime.datamappers.NamedDataMapper;
 import de.turing85.quarkus.health.as.metrics.runtime.groups.CustomHealthGroupsRecorder;
+import de.turing85.quarkus.health.as.metrics.runtime.groups.HealthGroupMembership;
+import de.turing85.quarkus.health.as.metrics.runtime.groups.HealthGroupMembershipRecorder;
 import de.turing85.quarkus.health.as.metrics.runtime.groups.HealthGroupsMetricsRegistrar;
 import de.turing85.quarkus.health.as.metrics.runtime.registries.HealthRegistriesMetricsRegistrar;
+import de.turing85.quarkus.health.as.metrics.runtime.snapshot.HealthSnapshotScheduler;
+import de.turing85.quarkus.health.as.metrics.runtime.snapshot.HealthSnapshots;
 import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
+import io.quarkus.arc.deployment.AnnotationsTransformerBuildItem;
+import io.quarkus.arc.deployment.BeanArchiveIndexBuildItem;
+import io.quarkus.arc.deployment.BeanDefiningAnnotationBuildItem;
 import io.quarkus.arc.deployment.SyntheticBeanBuildItem;
-import io.quarkus.cache.deployment.spi.AdditionalCacheNameBuildItem;
+import io.quarkus.arc.processor.AnnotationsTransformer;
+import io.quarkus.arc.processor.BuiltinScope;
 import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.annotations.ExecutionTime;
 import io.quarkus.deployment.annotations.Record;
 import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
-import io.quarkus.deployment.builditem.RunTimeConfigurationDefaultBuildItem;
+import io.quarkus.runtime.configuration.ConfigurationException;
 import io.quarkus.smallrye.health.deployment.HealthBuildTimeConfig;
 import io.smallrye.common.annotation.Identifier;
 import io.smallrye.health.api.HealthGroup;
+import io.smallrye.health.api.Wellness;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.Liveness;
+import org.eclipse.microprofile.health.Readiness;
+import org.eclipse.microprofile.health.Startup;
 import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationTarget;
 import org.jboss.jandex.AnnotationValue;
+import org.jboss.jandex.ClassInfo;
 import org.jboss.jandex.ClassType;
+import org.jboss.jandex.DotName;
 import org.jboss.jandex.ParameterizedType;
 
 class HealthAsMetricProcessor {
   private static final String FEATURE = "health-as-metrics";
 
+  // @formatter:off
+  private static final Map<DotName, String> STANDARD_GROUPS = Map.of(
+      DotName.createSimple(Liveness.class), HealthGroupMembership.GROUP_LIVE,
+      DotName.createSimple(Readiness.class), HealthGroupMembership.GROUP_READY,
+      DotName.createSimple(Startup.class), HealthGroupMembership.GROUP_STARTUP,
+      DotName.createSimple(Wellness.class), HealthGroupMembership.GROUP_WELL);
+  // @formatter:on
+
+  private static final String NUMBER_VALUE_MAPPER_NAME = "numberValueMapper";
+  private static final String VALUE_MAPPER_SUFFIX = "ValueMapper";
+
+  // @formatter:off
+  private static final Set<String> DEFAULT_MAPPER_NAMES = Set.of(
+      "booleanMapper",
+      "upDownMapper",
+      "readyNotReadyMapper",
+      "longMapper",
+      "statusMapper",
+      NUMBER_VALUE_MAPPER_NAME);
+  // @formatter:on
+
   @BuildStep
   void enable(HealthBuildTimeConfig healthBuildTimeConfig,
       BuildProducer<HealthAsMetricsEnabledBuildItem> producer) {
@@ -53,33 +111,106 @@ class HealthAsMetricProcessor {
   @Record(ExecutionTime.STATIC_INIT)
   void registerHealthGroups(HealthAsMetricsEnabledBuildItem enabled, CombinedIndexBuildItem index,
       CustomHealthGroupsRecorder customHealthGroupsRecorder,
+      HealthGroupMembershipRecorder membershipRecorder,
       BuildProducer<SyntheticBeanBuildItem> syntheticBeanProducer) {
     if (Objects.nonNull(enabled)) {
       registerHealthGroupsBean(syntheticBeanProducer, customHealthGroupsRecorder,
           collectCustomGroup(index));
+      registerGroupMembershipBean(syntheticBeanProducer, membershipRecorder,
+          collectGroupMembership(index));
+    }
+  }
+
+  @BuildStep
+  @Record(ExecutionTime.STATIC_INIT)
+  void registerHealthCheckNames(HealthAsMetricsEnabledBuildItem enabled,
+      CombinedIndexBuildItem index, HealthCheckNamesRecorder namesRecorder,
+      BuildProducer<SyntheticBeanBuildItem> syntheticBeanProducer) {
+    if (Objects.nonNull(enabled)) {
+      registerHealthCheckNamesBean(syntheticBeanProducer, namesRecorder,
+          HealthCheckNameExtractor.extractNames(index));
     }
   }
 
   @BuildStep
   @Record(ExecutionTime.STATIC_INIT)
   void registerMappers(HealthAsMetricsEnabledBuildItem enabled,
+      HealthAsMetricsBuildTimeConfig buildTimeConfig,
       BuildProducer<SyntheticBeanBuildItem> syntheticBeanProducer,
       DefaultMappersRecorder mappersRecorder) {
     if (Objects.nonNull(enabled)) {
       registerMappers(syntheticBeanProducer, mappersRecorder);
+      buildTimeConfig.values().keyFilter().ifPresent(keyFilter -> registerValueMapper(
+          syntheticBeanProducer, mappersRecorder.numberValueMapper(keyFilter),
+          NUMBER_VALUE_MAPPER_NAME, 0));
+      buildTimeConfig.mappers().forEach((name, mapperConfig) -> registerConfiguredMapper(
+          syntheticBeanProducer, mappersRecorder, name, mapperConfig));
     }
   }
 
   @BuildStep
   void registerBeans(HealthAsMetricsEnabledBuildItem enabled,
-      BuildProducer<AdditionalBeanBuildItem> beanProducer,
-      BuildProducer<AdditionalCacheNameBuildItem> cacheProducer,
-      BuildProducer<RunTimeConfigurationDefaultBuildItem> configProducer) {
+      BuildProducer<AdditionalBeanBuildItem> beanProducer) {
     if (Objects.nonNull(enabled)) {
-      registerAdditionalBeans(beanProducer, cacheProducer, configProducer);
+      registerAdditionalBeans(beanProducer);
     }
   }
 
+  @BuildStep
+  void registerProbeSharing(HealthAsMetricsEnabledBuildItem enabled,
+      HealthAsMetricsBuildTimeConfig buildTimeConfig,
+      BuildProducer<AdditionalBeanBuildItem> beanProducer) {
+    if (Objects.nonNull(enabled) && buildTimeConfig.probes().shareResults()) {
+      // @formatter:off
+      beanProducer.produce(AdditionalBeanBuildItem.builder()
+          .addBeanClasses(
+              SharedHealthCheckResult.class,
+              SharedHealthCheckResultInterceptor.class)
+          .build());
+      // @formatter:on
+    }
+  }
+
+  // Only classes of the bean archives are bound, i.e. the classes ArC discovers beans from. This
+  // is a separate step, since the bean archive index depends on the additional beans.
+  @BuildStep
+  void shareResultsWithProbes(HealthAsMetricsEnabledBuildItem enabled,
+      HealthAsMetricsBuildTimeConfig buildTimeConfig, BeanArchiveIndexBuildItem index,
+      List<BeanDefiningAnnotationBuildItem> beanDefiningAnnotations,
+      BuildProducer<AnnotationsTransformerBuildItem> transformerProducer) {
+    if (Objects.nonNull(enabled) && buildTimeConfig.probes().shareResults()) {
+      Set<DotName> healthChecks =
+          collectInterceptableHealthChecks(index, beanDefiningAnnotations);
+      transformerProducer.produce(new AnnotationsTransformerBuildItem(
+          AnnotationsTransformer.appliedToClass()
+              .whenClass(healthCheck -> healthChecks.contains(healthCheck.name()))
+              .thenTransform(transformation -> transformation.add(SharedHealthCheckResult.class))));
+    }
+  }
+
+  // Final classes cannot be intercepted, abstract classes and interfaces are no bean classes.
+  // Classes without a scope or a bean defining annotation (e.g. @Liveness) are no beans either.
+  private static Set<DotName> collectInterceptableHealthChecks(BeanArchiveIndexBuildItem index,
+      List<BeanDefiningAnnotationBuildItem> beanDefiningAnnotations) {
+    // @formatter:off
+    Set<DotName> beanDefining = beanDefiningAnnotations.stream()
+        .map(BeanDefiningAnnotationBuildItem::getName)
+        .collect(Collectors.toUnmodifiableSet());
+    return index.getIndex()
+        .getAllKnownImplementors(DotName.createSimple(HealthCheck.class))
+        .stream()
+        .filter(healthCheck -> !healthCheck.isInterface())
+        .filter(healthCheck -> !Modifier.isAbstract(healthCheck.flags()))
+        .filter(healthCheck -> !Modifier.isFinal(healthCheck.flags()))
+        .filter(healthCheck -> BuiltinScope.isDeclaredOn(healthCheck)
+            || healthCheck.declaredAnnotations().stream()
+                .map(AnnotationInstance::name)
+                .anyMatch(beanDefining::contains))
+        .map(ClassInfo::name)
+        .collect(Collectors.toUnmodifiableSet());
+    // @formatter:on
+  }
+
   private static Set<String> collectCustomGroup(CombinedIndexBuildItem index) {
     // @formatter:off
     return index.getIndex()
@@ -92,6 +223,74 @@ class HealthAsMetricProcessor {
     // @formatter:on
   }
 
+  private static Map<String, Set<String>> collectGroupMembership(CombinedIndexBuildItem index) {
+    Map<String, Set<String>> groupsByClassName = new HashMap<>();
+    STANDARD_GROUPS.forEach((annotation, group) -> index.getIndex().getAnnotations(annotation)
+        .forEach(instance -> addGroup(groupsByClassName, instance, group)));
+    // @formatter:off
+    index.getIndex()
+        .getAnnotationsWithRepeatable(HealthGroup.class, index.getComputingIndex())
+        .forEach(instance -> addGroup(
+            groupsByClassName,
+            instance,
+            instance.value().asString()));
+    // @formatter:on
+    return groupsByClassName;
+  }
+
+  // only class-level annotations are indexed, producer methods are resolved at runtime
+  private static void addGroup(Map<String, Set<String>> groupsByClassName,
+      AnnotationInstance instance, String group) {
+    if (instance.target().kind() == AnnotationTarget.Kind.CLASS) {
+      groupsByClassName
+          .computeIfAbsent(instance.target().asClass().name().toString(), unused -> new HashSet<>())
+          .add(group);
+    }
+  }
+
+  private static void registerGroupMembershipBean(
+      BuildProducer<SyntheticBeanBuildItem> syntheticBeanProducer,
+      HealthGroupMembershipRecorder membershipRecorder,
+      Map<String, Set<String>> groupsByClassName) {
+    // @formatter:off
+    syntheticBeanProducer.produce(SyntheticBeanBuildItem
+        .configure(Map.class)
+            .addType(ParameterizedType.create(Map.class,
+                ClassType.create(String.class),
+                ParameterizedType.create(Set.class, ClassType.create(String.class))))
+            .unremovable()
+            .supplier(membershipRecorder.wrap(groupsByClassName))
+            .scope(Singleton.class)
+            .name(HealthGroupMembership.GROUPS_BY_CLASS_NAME_BEAN_NAME)
+            .addQualifier()
+                .annotation(Identifier.class)
+                .addValue("value", HealthGroupMembership.GROUPS_BY_CLASS_NAME_BEAN_NAME)
+            .done()
+        .done());
+    // @formatter:on
+  }
+
+  private static void registerHealthCheckNamesBean(
+      BuildProducer<SyntheticBeanBuildItem> syntheticBeanProducer,
+      HealthCheckNamesRecorder namesRecorder, Map<String, String> namesByClassName) {
+    // @formatter:off
+    syntheticBeanProducer.produce(SyntheticBeanBuildItem
+        .configure(Map.class)
+            .addType(ParameterizedType.create(Map.class,
+                ClassType.create(String.class),
+                ClassType.create(String.class)))
+            .unremovable()
+            .supplier(namesRecorder.wrap(namesByClassName))
+            .scope(Singleton.class)
+            .name(HealthChecksMetricsRegistrar.HEALTH_CHECK_NAMES_BEAN_NAME)
+            .addQualifier()
+                .annotation(Identifier.class)
+                .addValue("value", HealthChecksMetricsRegistrar.HEALTH_CHECK_NAMES_BEAN_NAME)
+            .done()
+        .done());
+    // @formatter:on
+  }
+
   private static void registerHealthGroupsBean(
       BuildProducer<SyntheticBeanBuildItem> syntheticBeanProducer,
       CustomHealthGroupsRecorder customHealthGroupsRecorder, Set<String> customHealthGroups) {
@@ -121,9 +320,56 @@ class HealthAsMetricProcessor {
     registerMapper(syntheticBeanProducer, mappersRecorder.statusMapper(), "statusMapper");
   }
 
-  private static <T> void registerMapper(
+  // The mapper is created once at build time to fail the build on invalid configuration, and
+  // again by the recorder at static init.
+  private static void registerConfiguredMapper(
       BuildProducer<SyntheticBeanBuildItem> syntheticBeanProducer,
-      Supplier<HealthResponseDataMapper<T>> supplier, String name) {
+      DefaultMappersRecorder mappersRecorder, String name,
+      HealthAsMetricsBuildTimeConfig.MapperConfig mapperConfig) {
+    String valueMapperName = name + VALUE_MAPPER_SUFFIX;
+    if (DEFAULT_MAPPER_NAMES.contains(name)
+        || (mapperConfig.numeric() && DEFAULT_MAPPER_NAMES.contains(valueMapperName))) {
+      throw new ConfigurationException(
+          "Invalid configuration of mapper %s: the name is used by a default mapper"
+              .formatted(name));
+    }
+    List<String> upValues = new ArrayList<>(mapperConfig.upValues().orElse(List.of()));
+    List<String> downValues = new ArrayList<>(mapperConfig.downValues().orElse(List.of()));
+    try {
+      ConfiguredMappers.create(mapperConfig.type(), mapperConfig.keyFilter(), upValues,
+          downValues);
+      if (mapperConfig.numeric()) {
+        ConfiguredMappers.createValueMapper(mapperConfig.type(), mapperConfig.keyFilter());
+      }
+    } catch (IllegalArgumentException | PatternSyntaxException e) {
+      throw new ConfigurationException(
+          "Invalid configuration of mapper %s: %s".formatted(name, e.getMessage()), e);
+    }
+    // @formatter:off
+    registerMapper(
+        syntheticBeanProducer,
+        mappersRecorder.configuredMapper(
+            mapperConfig.type(),
+            mapperConfig.keyFilter(),
+            upValues,
+            downValues),
+        name,
+        NamedDataMapper.CONFIGURED_MAPPER_PRIORITY);
+    // @formatter:on
+    if (mapperConfig.numeric()) {
+      registerValueMapper(syntheticBeanProducer,
+          mappersRecorder.configuredValueMapper(mapperConfig.type(), mapperConfig.keyFilter()),
+          valueMapperName, NamedDataMapper.CONFIGURED_MAPPER_PRIORITY);
+    }
+  }
+
+  private static void registerMapper(BuildProducer<SyntheticBeanBuildItem> syntheticBeanProducer,
+      Supplier<? extends HealthResponseDataMapper<?>> supplier, String name) {
+    registerMapper(syntheticBeanProducer, supplier, name, 0);
+  }
+
+  private static void registerMapper(BuildProducer<SyntheticBeanBuildItem> syntheticBeanProducer,
+      Supplier<? extends HealthResponseDataMapper<?>> supplier, String name, int priority) {
     // @formatter:off
     syntheticBeanProducer.produce(SyntheticBeanBuildItem
         .configure(HealthResponseDataMapper.class)
@@ -132,6 +378,26 @@ class HealthAsMetricProcessor {
             .unremovable()
             .supplier(supplier)
             .scope(Singleton.class)
+            .priority(priority)
+            .name(name)
+            .addQualifier()
+                .annotation(Identifier.class)
+                .addValue("value", name)
+            .done()
+        .done());
+    // @formatter:on
+  }
+
+  private static void registerValueMapper(
+      BuildProducer<SyntheticBeanBuildItem> syntheticBeanProducer,
+      Supplier<HealthResponseValueMapper> supplier, String name, int priority) {
+    // @formatter:off
+    syntheticBeanProducer.produce(SyntheticBeanBuildItem
+        .configure(HealthResponseValueMapper.class)
+            .unremovable()
+            .supplier(supplier)
+            .scope(Singleton.class)
+            .priority(priority)
             .name(name)
             .addQualifier()
                 .annotation(Identifier.class)
@@ -141,21 +407,21 @@ class HealthAsMetricProcessor {
     // @formatter:on
   }
 
-  private static void registerAdditionalBeans(BuildProducer<AdditionalBeanBuildItem> beanProducer,
-      BuildProducer<AdditionalCacheNameBuildItem> cacheProducer,
-      BuildProducer<RunTimeConfigurationDefaultBuildItem> configProducer) {
+  private static void registerAdditionalBeans(BuildProducer<AdditionalBeanBuildItem> beanProducer) {
     beanProducer.produce(AdditionalBeanBuildItem.unremovableOf(HealthGroupsMetricsRegistrar.class));
     beanProducer.produce(AdditionalBeanBuildItem.unremovableOf(HealthChecksMetricsRegistrar.class));
     beanProducer
         .produce(AdditionalBeanBuildItem.unremovableOf(HealthRegistriesMetricsRegistrar.class));
-
-    cacheProducer.produce(new AdditionalCacheNameBuildItem(Config.CACHE_CHECK_NAME));
-    cacheProducer.produce(new AdditionalCacheNameBuildItem(Config.CACHE_REGISTRY_NAME));
-    configProducer.produce(new RunTimeConfigurationDefaultBuildItem(
-        "quarkus.cache.caffeine.\"%s\".expire-after-write".formatted(Config.CACHE_CHECK_NAME),
-        "5s"));
-    configProducer.produce(new RunTimeConfigurationDefaultBuildItem(
-        "quarkus.cache.caffeine.\"%s\".expire-after-write".formatted(Config.CACHE_REGISTRY_NAME),
-        "5s"));
+    beanProducer.produce(AdditionalBeanBuildItem.unremovableOf(HealthSnapshots.class));
+    beanProducer.produce(AdditionalBeanBuildItem.unremovableOf(HealthSnapshotScheduler.class));
+    beanProducer.produce(AdditionalBeanBuildItem.unremovableOf(HealthGroupMembership.class));
+    beanProducer.produce(AdditionalBeanBuildItem.unremovableOf(HealthDiscovery.class));
+    beanProducer.produce(AdditionalBeanBuildItem.unremovableOf(HealthExecutor.class));
+    beanProducer.produce(AdditionalBeanBuildItem.unremovableOf(HealthSeriesGuard.class));
+    beanProducer.produce(AdditionalBeanBuildItem.unremovableOf(HealthStatusGauges.class));
+    beanProducer.produce(AdditionalBeanBuildItem.unremovableOf(HealthTimers.class));
+    beanProducer.produce(AdditionalBeanBuildItem.unremovableOf(HealthTransitions.class));
+    beanProducer.produce(AdditionalBeanBuildItem.unremovableOf(DataMapperDispatcher.class));
+    beanProducer.produce(AdditionalBeanBuildItem.unremovableOf(HealthResultCaches.class));
   }
 }
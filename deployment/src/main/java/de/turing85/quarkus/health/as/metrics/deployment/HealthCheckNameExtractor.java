@@ -0,0 +1,209 @@
+package de.turing85.quarkus.health.as.metrics.deployment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
+import io.smallrye.health.api.AsyncHealthCheck;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.logging.Logger;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+// Resolves the name of a health check from the bytecode of its call() method. A name can be
+// resolved if call() passes exactly one distinct string constant to HealthCheckResponse.named(),
+// .up(), .down() or HealthCheckResponseBuilder.name(). Any other argument (e.g. a field or a
+// computed value) makes the name unresolvable, and the check is discovered at runtime. For an
+// AsyncHealthCheck, this only covers responses created in call() itself, not in a lambda.
+final class HealthCheckNameExtractor {
+  private static final Logger LOGGER = Logger.getLogger(HealthCheckNameExtractor.class);
+
+  private static final Set<DotName> CHECK_TYPES = Set.of(DotName.createSimple(HealthCheck.class),
+      DotName.createSimple(AsyncHealthCheck.class));
+  private static final String CALL_METHOD_NAME = "call";
+  private static final Set<String> CALL_METHOD_DESCRIPTORS = Set.of(
+      "()Lorg/eclipse/microprofile/health/HealthCheckResponse;", "()Lio/smallrye/mutiny/Uni;");
+  private static final String RESPONSE_OWNER =
+      "org/eclipse/microprofile/health/HealthCheckResponse";
+  private static final String BUILDER_OWNER =
+      "org/eclipse/microprofile/health/HealthCheckResponseBuilder";
+  private static final String NAME_DESCRIPTOR_PREFIX = "(Ljava/lang/String;)";
+  private static final Set<String> STATIC_NAME_METHODS = Set.of("named", "up", "down");
+  private static final String BUILDER_NAME_METHOD = "name";
+
+  private HealthCheckNameExtractor() {
+    throw new UnsupportedOperationException("this class cannot be instantiated");
+  }
+
+  static Map<String, String> extractNames(CombinedIndexBuildItem index) {
+    Map<String, String> namesByClassName = new HashMap<>();
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    for (DotName checkType : CHECK_TYPES) {
+      for (ClassInfo healthCheck : index.getIndex().getAllKnownImplementors(checkType)) {
+        if (!healthCheck.isInterface() && !Modifier.isAbstract(healthCheck.flags())) {
+          String className = healthCheck.name().toString();
+          extractName(classLoader, className)
+              .ifPresent(name -> namesByClassName.put(className, name));
+        }
+      }
+    }
+    return namesByClassName;
+  }
+
+  private static Optional<String> extractName(ClassLoader classLoader, String className) {
+    String resourceName = className.replace('.', '/') + ".class";
+    try (InputStream classBytes = classLoader.getResourceAsStream(resourceName)) {
+      if (Objects.isNull(classBytes)) {
+        return Optional.empty();
+      }
+      CallMethodVisitor callVisitor = new CallMethodVisitor();
+      new ClassReader(classBytes).accept(new ClassVisitor(Opcodes.ASM9) {
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor,
+            String signature, String[] exceptions) {
+          if (CALL_METHOD_NAME.equals(name) && CALL_METHOD_DESCRIPTORS.contains(descriptor)) {
+            return callVisitor;
+          }
+          return null;
+        }
+      }, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+      return callVisitor.name();
+    } catch (IOException | RuntimeException e) {
+      LOGGER.debugf(e, "Unable to read bytecode of %s", className);
+      return Optional.empty();
+    }
+  }
+
+  private static final class CallMethodVisitor extends MethodVisitor {
+    private final Set<String> names = new HashSet<>();
+    private boolean unresolvable = false;
+    private String pendingConstant;
+    // constants of the other branches of a conditional expression, e.g. "a" in x ? "a" : "b"
+    private final Set<String> branchConstants = new HashSet<>();
+
+    CallMethodVisitor() {
+      super(Opcodes.ASM9);
+    }
+
+    Optional<String> name() {
+      if (unresolvable || names.size() != 1) {
+        return Optional.empty();
+      }
+      return Optional.of(names.iterator().next());
+    }
+
+    @Override
+    public void visitLdcInsn(Object value) {
+      if (value instanceof String constant) {
+        pendingConstant = constant;
+      } else {
+        clear();
+      }
+    }
+
+    @Override
+    public void visitMethodInsn(int opcode, String owner, String name, String descriptor,
+        boolean isInterface) {
+      if (isNameMethod(opcode, owner, name, descriptor)) {
+        if (Objects.isNull(pendingConstant)) {
+          unresolvable = true;
+        } else {
+          names.add(pendingConstant);
+          names.addAll(branchConstants);
+        }
+      }
+      clear();
+    }
+
+    private static boolean isNameMethod(int opcode, String owner, String name,
+        String descriptor) {
+      if (!descriptor.startsWith(NAME_DESCRIPTOR_PREFIX)) {
+        return false;
+      }
+      if (opcode == Opcodes.INVOKESTATIC) {
+        return RESPONSE_OWNER.equals(owner) && STATIC_NAME_METHODS.contains(name);
+      }
+      return BUILDER_OWNER.equals(owner) && BUILDER_NAME_METHOD.equals(name);
+    }
+
+    private void clear() {
+      pendingConstant = null;
+      branchConstants.clear();
+    }
+
+    @Override
+    public void visitInsn(int opcode) {
+      clear();
+    }
+
+    @Override
+    public void visitIntInsn(int opcode, int operand) {
+      clear();
+    }
+
+    @Override
+    public void visitVarInsn(int opcode, int varIndex) {
+      clear();
+    }
+
+    @Override
+    public void visitTypeInsn(int opcode, String type) {
+      clear();
+    }
+
+    @Override
+    public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+      clear();
+    }
+
+    @Override
+    public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethodHandle,
+        Object... bootstrapMethodArguments) {
+      clear();
+    }
+
+    @Override
+    public void visitJumpInsn(int opcode, Label label) {
+      if (opcode == Opcodes.GOTO && Objects.nonNull(pendingConstant)) {
+        String constant = pendingConstant;
+        clear();
+        branchConstants.add(constant);
+        return;
+      }
+      clear();
+    }
+
+    @Override
+    public void visitIincInsn(int varIndex, int increment) {
+      clear();
+    }
+
+    @Override
+    public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
+      clear();
+    }
+
+    @Override
+    public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
+      clear();
+    }
+
+    @Override
+    public void visitMultiANewArrayInsn(String descriptor, int numDimensions) {
+      clear();
+    }
+  }
+}
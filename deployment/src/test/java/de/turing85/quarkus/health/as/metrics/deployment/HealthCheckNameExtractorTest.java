@@ -0,0 +1,114 @@
+package de.turing85.quarkus.health.as.metrics.deployment;
+
+import java.io.IOException;
+import java.util.Map;
+
+import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.jboss.jandex.Index;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class HealthCheckNameExtractorTest {
+  static class SingleConstantCheck implements HealthCheck {
+    @Override
+    public HealthCheckResponse call() {
+      return HealthCheckResponse.named("single").up().withData("key", "value").build();
+    }
+  }
+
+  static class RepeatedConstantCheck implements HealthCheck {
+    private boolean healthy;
+
+    @Override
+    public HealthCheckResponse call() {
+      if (healthy) {
+        return HealthCheckResponse.up("repeated");
+      }
+      return HealthCheckResponse.down("repeated");
+    }
+  }
+
+  static class MultiConstantCheck implements HealthCheck {
+    private boolean healthy;
+
+    @Override
+    public HealthCheckResponse call() {
+      if (healthy) {
+        return HealthCheckResponse.up("first");
+      }
+      return HealthCheckResponse.down("second");
+    }
+  }
+
+  static class ConditionalConstantCheck implements HealthCheck {
+    private boolean healthy;
+
+    @Override
+    public HealthCheckResponse call() {
+      return HealthCheckResponse.named(healthy ? "first" : "second").status(healthy).build();
+    }
+  }
+
+  static class ComputedNameCheck implements HealthCheck {
+    private final String name = "computed-" + System.nanoTime();
+
+    @Override
+    public HealthCheckResponse call() {
+      return HealthCheckResponse.up(name);
+    }
+  }
+
+  @Test
+  void whenCallUsesOneConstantThenNameIsResolved() throws IOException {
+    // WHEN
+    Map<String, String> names = extractNames(SingleConstantCheck.class);
+
+    // THEN
+    assertEquals(Map.of(SingleConstantCheck.class.getName(), "single"), names);
+  }
+
+  @Test
+  void whenCallRepeatsOneConstantThenNameIsResolved() throws IOException {
+    // WHEN
+    Map<String, String> names = extractNames(RepeatedConstantCheck.class);
+
+    // THEN
+    assertEquals(Map.of(RepeatedConstantCheck.class.getName(), "repeated"), names);
+  }
+
+  @Test
+  void whenCallUsesSeveralConstantsThenNameIsNotResolved() throws IOException {
+    // WHEN
+    Map<String, String> names = extractNames(MultiConstantCheck.class);
+
+    // THEN
+    assertFalse(names.containsKey(MultiConstantCheck.class.getName()));
+  }
+
+  @Test
+  void whenCallChoosesBetweenConstantsThenNameIsNotResolved() throws IOException {
+    // WHEN
+    Map<String, String> names = extractNames(ConditionalConstantCheck.class);
+
+    // THEN
+    assertFalse(names.containsKey(ConditionalConstantCheck.class.getName()));
+  }
+
+  @Test
+  void whenCallComputesNameThenNameIsNotResolved() throws IOException {
+    // WHEN
+    Map<String, String> names = extractNames(ComputedNameCheck.class);
+
+    // THEN
+    assertFalse(names.containsKey(ComputedNameCheck.class.getName()));
+  }
+
+  private static Map<String, String> extractNames(Class<?> healthCheck) throws IOException {
+    Index index = Index.of(healthCheck, HealthCheck.class);
+    return HealthCheckNameExtractor.extractNames(new CombinedIndexBuildItem(index, index));
+  }
+}
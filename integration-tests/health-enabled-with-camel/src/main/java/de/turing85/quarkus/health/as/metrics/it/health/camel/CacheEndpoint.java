@@ -5,18 +5,22 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 
-import de.turing85.quarkus.health.as.metrics.runtime.Config;
-import io.quarkus.cache.CacheInvalidateAll;
+import de.turing85.quarkus.health.as.metrics.runtime.cache.HealthResultCaches;
 import io.smallrye.mutiny.Uni;
 
 @Path("cache")
 @Produces(MediaType.TEXT_PLAIN)
 public class CacheEndpoint {
-  @CacheInvalidateAll(cacheName = Config.CACHE_CHECK_NAME)
-  @CacheInvalidateAll(cacheName = Config.CACHE_REGISTRY_NAME)
+  private final HealthResultCaches caches;
+
+  CacheEndpoint(HealthResultCaches caches) {
+    this.caches = caches;
+  }
+
   @Path("reset")
   @POST
   public Uni<Void> reset() {
+    caches.invalidateAll();
     return Uni.createFrom().voidItem();
   }
 }
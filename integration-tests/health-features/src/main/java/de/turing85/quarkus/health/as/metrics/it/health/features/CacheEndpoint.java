@@ -0,0 +1,26 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+import de.turing85.quarkus.health.as.metrics.runtime.cache.HealthResultCaches;
+import io.smallrye.mutiny.Uni;
+
+@Path("cache")
+@Produces(MediaType.TEXT_PLAIN)
+public class CacheEndpoint {
+  private final HealthResultCaches caches;
+
+  CacheEndpoint(HealthResultCaches caches) {
+    this.caches = caches;
+  }
+
+  @Path("reset")
+  @POST
+  public Uni<Void> reset() {
+    caches.invalidateAll();
+    return Uni.createFrom().voidItem();
+  }
+}
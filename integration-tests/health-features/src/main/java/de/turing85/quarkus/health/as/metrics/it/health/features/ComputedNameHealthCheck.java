@@ -0,0 +1,25 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Startup;
+
+// The name is not a constant of call(), so it cannot be resolved at build time.
+@Startup
+@ApplicationScoped
+public class ComputedNameHealthCheck implements HealthCheck {
+  private final String name;
+
+  ComputedNameHealthCheck(@ConfigProperty(name = "health-features.computed-name",
+      defaultValue = "computed") String name) {
+    this.name = name;
+  }
+
+  @Override
+  public HealthCheckResponse call() {
+    return HealthCheckResponse.up(name);
+  }
+}
@@ -0,0 +1,43 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+import io.smallrye.mutiny.Uni;
+
+@Path("async")
+@Produces(MediaType.TEXT_PLAIN)
+public class ControlledAsyncEndpoint {
+  private final ControlledAsyncHealthCheck check;
+
+  ControlledAsyncEndpoint(ControlledAsyncHealthCheck check) {
+    this.check = check;
+  }
+
+  @POST
+  @Path("reset")
+  public Uni<Void> reset() {
+    return Uni.createFrom().voidItem().invoke(check::reset);
+  }
+
+  @POST
+  @Path("up")
+  public Uni<Void> up() {
+    return Uni.createFrom().voidItem().invoke(() -> check.healthy(true));
+  }
+
+  @POST
+  @Path("down")
+  public Uni<Void> down() {
+    return Uni.createFrom().voidItem().invoke(() -> check.healthy(false));
+  }
+
+  @POST
+  @Path("delay/{millis}")
+  public Uni<Void> delay(@PathParam("millis") long millis) {
+    return Uni.createFrom().voidItem().invoke(() -> check.delay(millis));
+  }
+}
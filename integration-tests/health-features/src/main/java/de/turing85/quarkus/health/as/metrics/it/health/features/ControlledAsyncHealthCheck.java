@@ -0,0 +1,41 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.time.Duration;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import io.smallrye.health.api.AsyncHealthCheck;
+import io.smallrye.health.api.HealthGroup;
+import io.smallrye.mutiny.Uni;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+// An async check whose status and delay are controlled through ControlledAsyncEndpoint. The delay
+// does not occupy a thread.
+@HealthGroup("async")
+@ApplicationScoped
+public class ControlledAsyncHealthCheck implements AsyncHealthCheck {
+  private volatile boolean healthy = true;
+  private volatile long delayMillis;
+
+  @Override
+  public Uni<HealthCheckResponse> call() {
+    HealthCheckResponse response = HealthCheckResponse.named("async").status(healthy).build();
+    if (delayMillis <= 0) {
+      return Uni.createFrom().item(response);
+    }
+    return Uni.createFrom().item(response).onItem().delayIt().by(Duration.ofMillis(delayMillis));
+  }
+
+  public void reset() {
+    healthy = true;
+    delayMillis = 0;
+  }
+
+  public void healthy(boolean healthy) {
+    this.healthy = healthy;
+  }
+
+  public void delay(long delayMillis) {
+    this.delayMillis = delayMillis;
+  }
+}
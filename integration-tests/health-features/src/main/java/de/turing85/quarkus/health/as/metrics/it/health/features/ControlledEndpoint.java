@@ -0,0 +1,93 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+import io.smallrye.mutiny.Uni;
+
+@Path("controlled")
+@Produces(MediaType.TEXT_PLAIN)
+public class ControlledEndpoint {
+  private final ControlledHealthCheck check;
+
+  ControlledEndpoint(ControlledHealthCheck check) {
+    this.check = check;
+  }
+
+  @POST
+  @Path("reset")
+  public Uni<Void> reset() {
+    return Uni.createFrom().voidItem().invoke(check::reset);
+  }
+
+  @POST
+  @Path("up")
+  public Uni<Void> up() {
+    return Uni.createFrom().voidItem().invoke(() -> check.healthy(true));
+  }
+
+  @POST
+  @Path("down")
+  public Uni<Void> down() {
+    return Uni.createFrom().voidItem().invoke(() -> check.healthy(false));
+  }
+
+  @POST
+  @Path("fail")
+  public Uni<Void> fail() {
+    return Uni.createFrom().voidItem().invoke(() -> check.failing(true));
+  }
+
+  @POST
+  @Path("delay/{millis}")
+  public Uni<Void> delay(@PathParam("millis") long millis) {
+    return Uni.createFrom().voidItem().invoke(() -> check.delay(millis));
+  }
+
+  @POST
+  @Path("data/{key}/long/{value}")
+  public Uni<Void> putLong(@PathParam("key") String key, @PathParam("value") long value) {
+    return Uni.createFrom().voidItem().invoke(() -> check.putData(key, value));
+  }
+
+  @POST
+  @Path("data/{key}/boolean/{value}")
+  public Uni<Void> putBoolean(@PathParam("key") String key, @PathParam("value") boolean value) {
+    return Uni.createFrom().voidItem().invoke(() -> check.putData(key, value));
+  }
+
+  @POST
+  @Path("data/{key}/string/{value}")
+  public Uni<Void> putString(@PathParam("key") String key, @PathParam("value") String value) {
+    return Uni.createFrom().voidItem().invoke(() -> check.putData(key, value));
+  }
+
+  @DELETE
+  @Path("data/{key}")
+  public Uni<Void> removeData(@PathParam("key") String key) {
+    return Uni.createFrom().voidItem().invoke(() -> check.removeData(key));
+  }
+
+  @GET
+  @Path("calls")
+  public Uni<Integer> calls() {
+    return Uni.createFrom().item(check::calls);
+  }
+
+  @GET
+  @Path("thread")
+  public Uni<String> thread() {
+    return Uni.createFrom().item(check::lastThread);
+  }
+
+  @POST
+  @Path("calls/reset")
+  public Uni<Void> resetCalls() {
+    return Uni.createFrom().voidItem().invoke(check::resetCalls);
+  }
+}
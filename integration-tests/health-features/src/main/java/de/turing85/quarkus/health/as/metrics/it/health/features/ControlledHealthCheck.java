@@ -0,0 +1,105 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import io.smallrye.health.api.HealthGroup;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+// A check whose status, data and duration are controlled through ControlledEndpoint. It counts its
+// calls, so that tests can observe how often the extension evaluates it.
+@HealthGroup("controlled")
+@Readiness
+@ApplicationScoped
+public class ControlledHealthCheck implements HealthCheck {
+  private final AtomicInteger calls = new AtomicInteger();
+  private final Map<String, Object> data = new ConcurrentHashMap<>();
+  private volatile boolean healthy;
+  private volatile boolean failing;
+  private volatile long delayMillis;
+  private volatile String lastThread = "";
+
+  ControlledHealthCheck() {
+    reset();
+  }
+
+  @Override
+  public HealthCheckResponse call() {
+    calls.incrementAndGet();
+    lastThread = Thread.currentThread().toString();
+    sleep(delayMillis);
+    if (failing) {
+      throw new IllegalStateException("controlled failure");
+    }
+    HealthCheckResponseBuilder builder = HealthCheckResponse.named("controlled").status(healthy);
+    data.forEach((key, value) -> {
+      if (value instanceof Long longValue) {
+        builder.withData(key, longValue);
+      } else if (value instanceof Boolean booleanValue) {
+        builder.withData(key, booleanValue);
+      } else {
+        builder.withData(key, value.toString());
+      }
+    });
+    return builder.build();
+  }
+
+  public void reset() {
+    healthy = true;
+    failing = false;
+    delayMillis = 0;
+    data.clear();
+    data.put("connections", 42L);
+    data.put("mode", "PRIMARY");
+    calls.set(0);
+  }
+
+  public void healthy(boolean healthy) {
+    this.healthy = healthy;
+  }
+
+  public void failing(boolean failing) {
+    this.failing = failing;
+  }
+
+  public void delay(long delayMillis) {
+    this.delayMillis = delayMillis;
+  }
+
+  public void putData(String key, Object value) {
+    data.put(key, value);
+  }
+
+  public void removeData(String key) {
+    data.remove(key);
+  }
+
+  public int calls() {
+    return calls.get();
+  }
+
+  public String lastThread() {
+    return lastThread;
+  }
+
+  public void resetCalls() {
+    calls.set(0);
+  }
+
+  private static void sleep(long millis) {
+    if (millis <= 0) {
+      return;
+    }
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
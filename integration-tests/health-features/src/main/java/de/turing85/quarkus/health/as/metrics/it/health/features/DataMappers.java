@@ -0,0 +1,21 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+import de.turing85.quarkus.health.as.metrics.runtime.datamappers.HealthResponseDataMapper;
+import io.smallrye.common.annotation.Identifier;
+
+@ApplicationScoped
+public class DataMappers {
+  // tried before the default longMapper, which maps any non-zero level to UP
+  @Produces
+  @Singleton
+  @Priority(10)
+  @Identifier("levelMapper")
+  HealthResponseDataMapper<Long> levelMapper() {
+    return HealthResponseDataMapper.longMapper("level", level -> level >= 3, level -> level < 3);
+  }
+}
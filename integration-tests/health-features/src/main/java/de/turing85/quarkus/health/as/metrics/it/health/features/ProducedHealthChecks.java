@@ -0,0 +1,19 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+
+import io.smallrye.health.api.HealthGroup;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+// Producer beans are not part of the build-time group index, their groups are read at startup.
+@ApplicationScoped
+public class ProducedHealthChecks {
+  @Produces
+  @ApplicationScoped
+  @HealthGroup("produced")
+  HealthCheck producedHealthCheck() {
+    return () -> HealthCheckResponse.up("produced");
+  }
+}
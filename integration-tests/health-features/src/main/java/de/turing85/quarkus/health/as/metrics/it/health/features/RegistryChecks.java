@@ -0,0 +1,53 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.time.Duration;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.interceptor.Interceptor;
+
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.health.api.HealthRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Liveness;
+import org.eclipse.microprofile.health.Readiness;
+
+// Registers checks with the liveness and readiness registries before the extension discovers the
+// registries. registry-shared is part of both registries.
+@ApplicationScoped
+public class RegistryChecks {
+  static final Duration SLOW_DELAY = Duration.ofSeconds(1);
+
+  private final HealthRegistry registry;
+  private final HealthRegistry readinessRegistry;
+  private final Duration stuckDelay;
+
+  RegistryChecks(@Liveness HealthRegistry registry, @Readiness HealthRegistry readinessRegistry,
+      @ConfigProperty(name = "health-features.registry.stuck-delay",
+          defaultValue = "0s") Duration stuckDelay) {
+    this.registry = registry;
+    this.readinessRegistry = readinessRegistry;
+    this.stuckDelay = stuckDelay;
+  }
+
+  void register(@Observes @Priority(Interceptor.Priority.PLATFORM_BEFORE) StartupEvent ignored) {
+    registry.register("registry-up", () -> HealthCheckResponse.up("registry-up"));
+    registry.register("registry-down", () -> HealthCheckResponse.down("registry-down"));
+    registry.register("registry-slow-1", () -> delayed("registry-slow-1", SLOW_DELAY));
+    registry.register("registry-slow-2", () -> delayed("registry-slow-2", SLOW_DELAY));
+    registry.register("registry-stuck", () -> delayed("registry-stuck", stuckDelay));
+    registry.register("registry-shared", () -> HealthCheckResponse.up("registry-shared"));
+    readinessRegistry.register("registry-shared", () -> HealthCheckResponse.up("registry-shared"));
+  }
+
+  private static HealthCheckResponse delayed(String name, Duration delay) {
+    try {
+      Thread.sleep(delay.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return HealthCheckResponse.up(name);
+  }
+}
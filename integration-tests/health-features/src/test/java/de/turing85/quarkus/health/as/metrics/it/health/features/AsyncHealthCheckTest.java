@@ -0,0 +1,71 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.util.Map;
+
+import jakarta.ws.rs.core.Response;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+@QuarkusTest
+@TestProfile(AsyncHealthCheckTest.Profile.class)
+class AsyncHealthCheckTest {
+  public static class Profile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      // @formatter:off
+      return Map.of(
+          "quarkus.health-as-metrics.timeouts.checks.async", "300ms",
+          "quarkus.health-as-metrics.timeouts.fallback", "down");
+      // @formatter:on
+    }
+  }
+
+  @BeforeEach
+  void reset() {
+    post("async/reset");
+    post("cache/reset");
+  }
+
+  @ParameterizedTest
+  // @formatter:off
+  @CsvSource(
+      delimiter = ';',
+      value = {
+          "up;application_health_check{check=\"async\",status=\"UP\"} 1.0",
+          "up;application_status{group=\"async\",status=\"UP\"} 1.0",
+          "down;application_health_check{check=\"async\",status=\"DOWN\"} 1.0",
+          "down;application_status{group=\"async\",status=\"DOWN\"} 1.0",
+          "delay/2000;application_health_check{check=\"async\",status=\"DOWN\"} 1.0",
+          "delay/2000;application_status{group=\"async\",status=\"DOWN\"} 1.0",
+      })
+  // @formatter:on
+  void whenAsyncCheckIsScrapedThenItsStatusIsReported(String action, String line) {
+    // GIVEN
+    post("async/" + action);
+
+    // WHEN
+    // @formatter:off
+    String metrics = RestAssured
+        .when().get("q/metrics/")
+        .then()
+            .statusCode(is(Response.Status.OK.getStatusCode()))
+            .time(lessThan(1_500L))
+            .extract().body().asString();
+    // @formatter:on
+
+    // THEN
+    assertThat(metrics, containsString(line));
+  }
+}
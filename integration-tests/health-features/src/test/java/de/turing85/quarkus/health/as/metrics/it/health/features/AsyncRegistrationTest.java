@@ -0,0 +1,41 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.time.Duration;
+import java.util.Map;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.containsString;
+
+@QuarkusTest
+@TestProfile(AsyncRegistrationTest.Profile.class)
+class AsyncRegistrationTest {
+  // the slow registry checks take longer than the startup budget
+  public static class Profile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      // @formatter:off
+      return Map.of(
+          "quarkus.health-as-metrics.registration.mode", "async",
+          "quarkus.health-as-metrics.registration.startup-budget", "100ms");
+      // @formatter:on
+    }
+  }
+
+  @Test
+  void whenDiscoveryExceedsTheBudgetThenMetricsAreRegisteredInTheBackground() {
+    // @formatter:off
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> RestAssured
+        .when().get("q/metrics/")
+        .then().body(
+            containsString("application_health_check{check=\"registry-slow-1\",status=\"UP\"}"),
+            containsString("application_health_check{check=\"controlled\",status=\"UP\"}"),
+            containsString("application_status{group=\"live\",status=\"DOWN\"}")));
+    // @formatter:on
+  }
+}
@@ -0,0 +1,47 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.calls;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+
+@QuarkusTest
+class CachedEvaluationTest {
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @Test
+  void whenScrapedTwiceThenCheckIsCalledOnce() {
+    // WHEN
+    scrape();
+    scrape();
+
+    // THEN
+    assertThat(calls(), is(1));
+  }
+
+  @Test
+  void whenScrapedThenAllGaugesShowTheSameEvaluation() {
+    // GIVEN
+    post("controlled/down");
+
+    // WHEN
+    String metrics = scrape();
+
+    // THEN
+    assertThat(calls(), is(1));
+    assertThat(metrics,
+        containsString("application_health_check{check=\"controlled\",status=\"DOWN\"} 1.0"));
+    assertThat(metrics,
+        containsString("application_status{group=\"controlled\",status=\"DOWN\"} 1.0"));
+    assertThat(metrics, containsString("application_status{group=\"ready\",status=\"DOWN\"} 1.0"));
+  }
+}
@@ -0,0 +1,7 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+
+@QuarkusIntegrationTest
+public class CheckNamesIT extends CheckNamesTest {
+}
@@ -0,0 +1,39 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+@QuarkusTest
+class CheckNamesTest {
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @ParameterizedTest
+  // @formatter:off
+  @CsvSource(
+      delimiter = ';',
+      value = {
+          // resolved at build time
+          "application_health_check{check=\"controlled\",status=\"UP\"} 1.0",
+
+          // discovered at runtime
+          "application_health_check{check=\"computed\",status=\"UP\"} 1.0",
+          "application_status{group=\"startup\",status=\"UP\"} 1.0",
+      })
+  // @formatter:on
+  void whenScrapedThenChecksAreRegisteredUnderTheirNames(String line) {
+    // WHEN
+    String metrics = scrape();
+
+    // THEN
+    assertThat(metrics, containsString(line));
+  }
+}
@@ -0,0 +1,46 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.time.Duration;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+// the mapper is declared in application.properties
+@QuarkusTest
+class ConfiguredMapperTest {
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @ParameterizedTest
+  // @formatter:off
+  @CsvSource(
+      delimiter = ';',
+      value = {
+          "PRIMARY;application_health_check{check=\"controlled-mode\",status=\"UP\"} 1.0",
+          "primary;application_health_check{check=\"controlled-mode\",status=\"UP\"} 1.0",
+          "SECONDARY;application_health_check{check=\"controlled-mode\",status=\"DOWN\"} 1.0",
+      })
+  // @formatter:on
+  void whenModeIsSetThenItIsMappedByTheConfiguredMapper(String mode, String line) {
+    // GIVEN
+    post("controlled/data/mode/string/" + mode);
+
+    // WHEN & THEN
+    // @formatter:off
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+      post("cache/reset");
+      assertThat(scrape(), containsString(line));
+    });
+    // @formatter:on
+  }
+}
@@ -0,0 +1,70 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.time.Duration;
+import java.util.Map;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.delete;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+@QuarkusTest
+@TestProfile(DataKeysTest.Profile.class)
+class DataKeysTest {
+  public static class Profile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of("quarkus.health-as-metrics.data.removal-grace-period", "0s");
+    }
+  }
+
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @Test
+  void whenKeyAppearsThenItsMetricsAreRegistered() {
+    // WHEN
+    post("controlled/data/flag/boolean/true");
+
+    // THEN
+    awaitScrapeContains("application_health_check{check=\"controlled-flag\",status=\"UP\"} 1.0");
+  }
+
+  @Test
+  void whenKeyDisappearsThenItsMetricsAreRemoved() {
+    // GIVEN
+    post("controlled/data/gone/boolean/false");
+    awaitScrapeContains("application_health_check{check=\"controlled-gone\",status=\"DOWN\"} 1.0");
+
+    // WHEN
+    delete("controlled/data/gone");
+
+    // THEN
+    // @formatter:off
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+      post("cache/reset");
+      assertThat(scrape(), not(containsString("check=\"controlled-gone\"")));
+    });
+    // @formatter:on
+  }
+
+  private static void awaitScrapeContains(String line) {
+    // @formatter:off
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+      post("cache/reset");
+      assertThat(scrape(), containsString(line));
+    });
+    // @formatter:on
+  }
+}
@@ -0,0 +1,51 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.time.Duration;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+@QuarkusTest
+class DataMappersTest {
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @ParameterizedTest
+  // @formatter:off
+  @CsvSource(
+      delimiter = ';',
+      value = {
+          "flag/boolean/true;flag;UP",
+          "flag/boolean/false;flag;DOWN",
+          "size/long/0;size;DOWN",
+          "size/long/7;size;UP",
+          "state/string/UP;state;UP",
+          "state/string/DOWN;state;DOWN",
+          "ready/string/READY;ready;UP",
+      })
+  // @formatter:on
+  void whenDataIsAddedThenItIsMappedByTheMatchingMapper(String data, String key, String status) {
+    // GIVEN
+    post("controlled/data/" + data);
+    String line = "application_health_check{check=\"controlled-%s\",status=\"%s\"} 1.0"
+        .formatted(key, status);
+
+    // WHEN & THEN
+    // @formatter:off
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+      post("cache/reset");
+      assertThat(scrape(), containsString(line));
+    });
+    // @formatter:on
+  }
+}
@@ -0,0 +1,72 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.calls;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+
+@QuarkusTest
+class GroupAggregationTest {
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @Test
+  void whenAllMembersAreUpThenGroupIsUp() {
+    // WHEN
+    String metrics = scrape();
+
+    // THEN
+    assertThat(metrics,
+        containsString("application_status{group=\"controlled\",status=\"UP\"} 1.0"));
+    assertThat(metrics, containsString("application_status{group=\"ready\",status=\"UP\"} 1.0"));
+  }
+
+  @Test
+  void whenOneMemberIsDownThenGroupIsDown() {
+    // WHEN
+    String metrics = scrape();
+
+    // THEN: the liveness registry contains registry-down
+    assertThat(metrics, containsString("application_status{group=\"live\",status=\"DOWN\"} 1.0"));
+    assertThat(metrics, containsString("application_status{group=\"health\",status=\"DOWN\"} 1.0"));
+  }
+
+  @Test
+  void whenMemberGoesDownThenGroupFollowsWithoutCallingTheCheckAgain() {
+    // GIVEN
+    post("controlled/down");
+
+    // WHEN
+    String metrics = scrape();
+
+    // THEN
+    assertThat(metrics,
+        containsString("application_status{group=\"controlled\",status=\"DOWN\"} 1.0"));
+    assertThat(metrics, containsString("application_status{group=\"ready\",status=\"DOWN\"} 1.0"));
+    assertThat(calls(), is(1));
+  }
+
+  @Test
+  void whenMemberFailsThenGroupIsDown() {
+    // GIVEN
+    post("controlled/fail");
+
+    // WHEN
+    String metrics = scrape();
+
+    // THEN: like the health endpoints, the metrics report a failing check as DOWN
+    assertThat(metrics,
+        containsString("application_health_check{check=\"controlled\",status=\"DOWN\"} 1.0"));
+    assertThat(metrics,
+        containsString("application_status{group=\"controlled\",status=\"DOWN\"} 1.0"));
+    assertThat(metrics, containsString("application_status{group=\"ready\",status=\"DOWN\"} 1.0"));
+  }
+}
@@ -0,0 +1,41 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+@QuarkusTest
+class GroupMembershipTest {
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @ParameterizedTest
+  // @formatter:off
+  @CsvSource(
+      delimiter = ';',
+      value = {
+          // class bean, groups from the build-time index
+          "application_status{group=\"controlled\",status=\"UP\"} 1.0",
+          "application_status{group=\"ready\",status=\"UP\"} 1.0",
+
+          // producer bean, groups from its qualifiers
+          "application_health_check{check=\"produced\",status=\"UP\"} 1.0",
+          "application_status{group=\"produced\",status=\"UP\"} 1.0",
+          "application_status{group=\"produced\",status=\"DOWN\"} 0.0",
+      })
+  // @formatter:on
+  void whenScrapedThenGroupsContainTheirMembers(String line) {
+    // WHEN
+    String metrics = scrape();
+
+    // THEN
+    assertThat(metrics, containsString(line));
+  }
+}
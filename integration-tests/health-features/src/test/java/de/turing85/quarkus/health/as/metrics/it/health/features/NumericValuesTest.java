@@ -0,0 +1,57 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.time.Duration;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+@QuarkusTest
+class NumericValuesTest {
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @Test
+  void whenKeyIsSelectedThenItsValueIsExported() {
+    // GIVEN
+    post("controlled/data/connections/long/17");
+
+    // WHEN & THEN
+    awaitScrapeContains("application_health_check_value{check=\"controlled-connections\"} 17.0");
+  }
+
+  @Test
+  void whenKeyIsNotSelectedThenNoValueIsExported() {
+    // GIVEN
+    post("controlled/data/size/long/17");
+
+    // WHEN & THEN
+    // @formatter:off
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+      post("cache/reset");
+      String metrics = scrape();
+      assertThat(metrics, containsString("check=\"controlled-size\",status=\"UP\"} 1.0"));
+      assertThat(metrics, not(containsString(
+          "application_health_check_value{check=\"controlled-size\"}")));
+    });
+    // @formatter:on
+  }
+
+  private static void awaitScrapeContains(String line) {
+    // @formatter:off
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+      post("cache/reset");
+      assertThat(scrape(), containsString(line));
+    });
+    // @formatter:on
+  }
+}
@@ -0,0 +1,46 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.time.Duration;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+@QuarkusTest
+class PrimitiveMapperTest {
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @ParameterizedTest
+  // @formatter:off
+  @CsvSource(
+      delimiter = ';',
+      value = {
+          "1;application_health_check{check=\"controlled-level\",status=\"DOWN\"} 1.0",
+          "2;application_health_check{check=\"controlled-level\",status=\"UP\"} 0.0",
+          "3;application_health_check{check=\"controlled-level\",status=\"UP\"} 1.0",
+          "9;application_health_check{check=\"controlled-level\",status=\"DOWN\"} 0.0",
+      })
+  // @formatter:on
+  void whenLevelIsSetThenItIsMappedByTheLevelMapper(long level, String line) {
+    // GIVEN
+    post("controlled/data/level/long/" + level);
+
+    // WHEN & THEN
+    // @formatter:off
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+      post("cache/reset");
+      assertThat(scrape(), containsString(line));
+    });
+    // @formatter:on
+  }
+}
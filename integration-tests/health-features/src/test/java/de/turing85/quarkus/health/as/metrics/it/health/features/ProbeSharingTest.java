@@ -0,0 +1,74 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.util.Map;
+
+import jakarta.ws.rs.core.Response;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.calls;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+
+@QuarkusTest
+@TestProfile(ProbeSharingTest.Profile.class)
+class ProbeSharingTest {
+  public static class Profile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      // @formatter:off
+      return Map.of(
+          "quarkus.health-as-metrics.probes.share-results", "true",
+          "quarkus.health-as-metrics.probes.max-age", "5s");
+      // @formatter:on
+    }
+  }
+
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @Test
+  void whenProbeCalledTheCheckThenMetricsUseItsResponse() {
+    // GIVEN
+    post("controlled/down");
+    probe(Response.Status.SERVICE_UNAVAILABLE);
+
+    // WHEN
+    String metrics = scrape();
+
+    // THEN
+    assertThat(metrics,
+        containsString("application_health_check{check=\"controlled\",status=\"DOWN\"} 1.0"));
+    assertThat(calls(), is(1));
+  }
+
+  @Test
+  void whenMetricsCalledTheCheckThenProbeUsesItsResponse() {
+    // GIVEN
+    scrape();
+
+    // WHEN
+    probe(Response.Status.OK);
+
+    // THEN
+    assertThat(calls(), is(1));
+  }
+
+  private static void probe(Response.Status expected) {
+    // @formatter:off
+    RestAssured
+        .when().get("q/health/ready")
+        .then().statusCode(is(expected.getStatusCode()));
+    // @formatter:on
+  }
+}
@@ -0,0 +1,50 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.util.Map;
+
+import jakarta.ws.rs.core.Response;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.calls;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@QuarkusTest
+@TestProfile(ProbeSharingTimeoutTest.Profile.class)
+class ProbeSharingTimeoutTest {
+  public static class Profile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      // @formatter:off
+      return Map.of(
+          "quarkus.health-as-metrics.probes.share-results", "true",
+          "quarkus.health-as-metrics.timeouts.checks.controlled", "200ms");
+      // @formatter:on
+    }
+  }
+
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @Test
+  void whenCheckExceedsTimeoutOfMetricsThenProbeStillWaitsForIt() {
+    // GIVEN
+    post("controlled/delay/1000");
+
+    // WHEN
+    int status = RestAssured.when().get("q/health/ready").statusCode();
+
+    // THEN: the timeout only applies to the metrics
+    assertThat(status, is(Response.Status.OK.getStatusCode()));
+    assertThat(calls(), is(1));
+  }
+}
@@ -0,0 +1,67 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.time.Duration;
+import java.util.Map;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.calls;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+@QuarkusTest
+@TestProfile(RefreshIntervalTest.Profile.class)
+class RefreshIntervalTest {
+  // all other checks keep the default interval of 5s
+  public static class Profile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of("quarkus.health-as-metrics.refresh.checks.controlled", "100ms");
+    }
+  }
+
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @Test
+  void whenCheckHasItsOwnIntervalThenItIsRefreshedAccordingly() {
+    // GIVEN
+    scrape();
+
+    // WHEN
+    post("controlled/down");
+
+    // THEN
+    // @formatter:off
+    await()
+        .atMost(Duration.ofSeconds(3))
+        .pollInterval(Duration.ofMillis(150))
+        .untilAsserted(() -> assertThat(scrape(), containsString(
+            "application_health_check{check=\"controlled\",status=\"DOWN\"} 1.0")));
+    // @formatter:on
+  }
+
+  @Test
+  void whenScrapedRepeatedlyThenCheckIsRefreshedAfterItsInterval() {
+    // WHEN & THEN
+    // @formatter:off
+    await()
+        .atMost(Duration.ofSeconds(3))
+        .pollInterval(Duration.ofMillis(150))
+        .untilAsserted(() -> {
+          scrape();
+          assertThat(calls(), greaterThanOrEqualTo(3));
+        });
+    // @formatter:on
+  }
+}
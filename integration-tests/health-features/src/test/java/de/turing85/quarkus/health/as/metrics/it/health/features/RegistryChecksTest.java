@@ -0,0 +1,41 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+@QuarkusTest
+class RegistryChecksTest {
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @ParameterizedTest
+  // @formatter:off
+  @CsvSource(
+      delimiter = ';',
+      value = {
+          "application_health_check{check=\"registry-up\",status=\"UP\"} 1.0",
+          "application_health_check{check=\"registry-up\",status=\"DOWN\"} 0.0",
+          "application_health_check{check=\"registry-down\",status=\"UP\"} 0.0",
+          "application_health_check{check=\"registry-down\",status=\"DOWN\"} 1.0",
+          "application_health_check{check=\"registry-slow-1\",status=\"UP\"} 1.0",
+          "application_health_check{check=\"registry-slow-1\",status=\"DOWN\"} 0.0",
+          "application_health_check{check=\"registry-shared\",status=\"UP\"} 1.0",
+          "application_health_check{check=\"registry-shared\",status=\"DOWN\"} 0.0",
+      })
+  // @formatter:on
+  void whenScrapedThenEachCheckReportsItsOwnStatus(String line) {
+    // WHEN
+    String metrics = scrape();
+
+    // THEN
+    assertThat(metrics, containsString(line));
+  }
+}
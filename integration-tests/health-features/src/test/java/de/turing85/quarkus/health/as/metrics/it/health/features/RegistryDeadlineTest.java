@@ -0,0 +1,60 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.util.Map;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+@QuarkusTest
+@TestProfile(RegistryDeadlineTest.Profile.class)
+class RegistryDeadlineTest {
+  // two slow checks fit into the deadline only if they are evaluated concurrently
+  public static class Profile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      // @formatter:off
+      return Map.of(
+          "quarkus.health-as-metrics.evaluation.registry-deadline", "1500ms",
+          "health-features.registry.stuck-delay", "5s");
+      // @formatter:on
+    }
+  }
+
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @Test
+  void whenChecksAreSlowThenTheyAreEvaluatedConcurrently() {
+    // WHEN
+    String metrics = scrape();
+
+    // THEN
+    assertThat(metrics,
+        containsString("application_health_check{check=\"registry-slow-1\",status=\"UP\"} 1.0"));
+    assertThat(metrics,
+        containsString("application_health_check{check=\"registry-slow-2\",status=\"UP\"} 1.0"));
+    assertThat(metrics,
+        containsString("application_health_check{check=\"registry-up\",status=\"UP\"} 1.0"));
+  }
+
+  @Test
+  void whenCheckMissesTheDeadlineThenItIsLeftOut() {
+    // WHEN
+    String metrics = scrape();
+
+    // THEN
+    assertThat(metrics, not(containsString("check=\"registry-stuck\"")));
+    assertThat(metrics,
+        containsString("application_health_check{check=\"registry-down\",status=\"DOWN\"} 1.0"));
+  }
+}
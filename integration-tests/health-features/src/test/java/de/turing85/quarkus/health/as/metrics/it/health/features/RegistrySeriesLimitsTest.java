@@ -0,0 +1,42 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.util.Map;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+@QuarkusTest
+@TestProfile(RegistrySeriesLimitsTest.Profile.class)
+class RegistrySeriesLimitsTest {
+  // room for the status, transition and timer series of registry-shared, counted once
+  public static class Profile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of("quarkus.health-as-metrics.limits.checks.registry-shared", "8");
+    }
+  }
+
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @Test
+  void whenCheckIsPartOfSeveralRegistriesThenItsSeriesAreCountedOnce() {
+    // WHEN
+    String metrics = scrape();
+
+    // THEN: registry-shared is part of the liveness and the readiness registry
+    assertThat(metrics,
+        containsString("application_health_check{check=\"registry-shared\",status=\"UP\"} 1.0"));
+    assertThat(metrics, not(containsString("application_health_check_series_overflow_total")));
+  }
+}
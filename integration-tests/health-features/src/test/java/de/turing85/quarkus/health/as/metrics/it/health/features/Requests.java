@@ -0,0 +1,61 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import jakarta.ws.rs.core.Response;
+
+import io.restassured.RestAssured;
+
+import static org.hamcrest.Matchers.is;
+
+final class Requests {
+  private Requests() {}
+
+  static void post(String path) {
+    // @formatter:off
+    RestAssured
+        .when().post(path)
+        .then().statusCode(is(Response.Status.NO_CONTENT.getStatusCode()));
+    // @formatter:on
+  }
+
+  static void delete(String path) {
+    // @formatter:off
+    RestAssured
+        .when().delete(path)
+        .then().statusCode(is(Response.Status.NO_CONTENT.getStatusCode()));
+    // @formatter:on
+  }
+
+  static void reset() {
+    post("controlled/reset");
+    post("cache/reset");
+  }
+
+  static int calls() {
+    // @formatter:off
+    return Integer.parseInt(RestAssured
+        .when().get("controlled/calls")
+        .then().statusCode(is(Response.Status.OK.getStatusCode()))
+        .extract().body().asString());
+    // @formatter:on
+  }
+
+  // the value of the series, which must be part of the metrics
+  static double valueOf(String metrics, String series) {
+    // @formatter:off
+    return metrics.lines()
+        .filter(line -> line.startsWith(series + " "))
+        .map(line -> Double.parseDouble(line.substring(series.length() + 1)))
+        .findFirst()
+        .orElseThrow(() -> new AssertionError("no series " + series));
+    // @formatter:on
+  }
+
+  static String scrape() {
+    // @formatter:off
+    return RestAssured
+        .when().get("q/metrics/")
+        .then().statusCode(is(Response.Status.OK.getStatusCode()))
+        .extract().body().asString();
+    // @formatter:on
+  }
+}
@@ -0,0 +1,70 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.time.Duration;
+import java.util.Map;
+
+import jakarta.ws.rs.core.Response;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+@QuarkusTest
+@TestProfile(ScheduledEvaluationTest.Profile.class)
+class ScheduledEvaluationTest {
+  public static class Profile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      // @formatter:off
+      return Map.of(
+          "quarkus.health-as-metrics.evaluation.mode", "scheduled",
+          "quarkus.health-as-metrics.evaluation.interval", "200ms");
+      // @formatter:on
+    }
+  }
+
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @Test
+  void whenDownThenSnapshotFollows() {
+    // WHEN
+    post("controlled/down");
+
+    // THEN
+    // @formatter:off
+    await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> RestAssured
+        .when().get("q/metrics/")
+        .then().body(containsString(
+            "application_health_check{check=\"controlled\",status=\"DOWN\"} 1.0")));
+    // @formatter:on
+  }
+
+  @Test
+  void whenCheckIsSlowThenScrapeDoesNotWait() {
+    // GIVEN
+    post("controlled/delay/3000");
+    scrape();
+
+    // WHEN & THEN
+    // @formatter:off
+    RestAssured
+        .when().get("q/metrics/")
+        .then()
+            .statusCode(is(Response.Status.OK.getStatusCode()))
+            .time(lessThan(1_000L));
+    // @formatter:on
+  }
+}
@@ -0,0 +1,49 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.time.Duration;
+import java.util.Map;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+@QuarkusTest
+@TestProfile(SeriesLimitsTest.Profile.class)
+class SeriesLimitsTest {
+  // room for the status, transition and timer series of the check, but not for its data
+  public static class Profile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of("quarkus.health-as-metrics.limits.checks.controlled", "10");
+    }
+  }
+
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @Test
+  void whenCheckLimitIsReachedThenDataIsRejectedAndCounted() {
+    // @formatter:off
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+      post("cache/reset");
+      String metrics = scrape();
+      assertThat(metrics,
+          containsString("application_health_check{check=\"controlled\",status=\"UP\"} 1.0"));
+      assertThat(metrics,
+          containsString("application_health_check_series_overflow_total{limit=\"check\"}"));
+      assertThat(metrics, not(containsString("check=\"controlled-connections\"")));
+    });
+    // @formatter:on
+  }
+}
@@ -0,0 +1,56 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.util.Map;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+@QuarkusTest
+@TestProfile(SingleEncodingTest.Profile.class)
+class SingleEncodingTest {
+  public static class Profile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of("quarkus.health-as-metrics.encoding", "single");
+    }
+  }
+
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @ParameterizedTest
+  // @formatter:off
+  @CsvSource(
+      delimiter = ';',
+      value = {
+          "up;application_health_check{check=\"controlled\"} 1.0",
+          "up;application_status{group=\"controlled\"} 1.0",
+          "down;application_health_check{check=\"controlled\"} 0.0",
+          "down;application_status{group=\"controlled\"} 0.0",
+          "up;application_health_check{check=\"registry-down\"} 0.0",
+      })
+  // @formatter:on
+  void whenScrapedThenEachStatusIsOneSeries(String status, String line) {
+    // GIVEN
+    post("controlled/" + status);
+
+    // WHEN
+    String metrics = scrape();
+
+    // THEN
+    assertThat(metrics, containsString(line));
+    assertThat(metrics, not(containsString("check=\"controlled\",status=")));
+  }
+}
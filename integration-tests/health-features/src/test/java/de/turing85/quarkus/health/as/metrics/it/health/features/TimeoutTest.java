@@ -0,0 +1,71 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.util.Map;
+
+import jakarta.ws.rs.core.Response;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+@QuarkusTest
+@TestProfile(TimeoutTest.Profile.class)
+class TimeoutTest {
+  public static class Profile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      // @formatter:off
+      return Map.of(
+          "quarkus.health-as-metrics.timeouts.checks.controlled", "200ms",
+          "quarkus.health-as-metrics.timeouts.fallback", "down");
+      // @formatter:on
+    }
+  }
+
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @Test
+  void whenCheckIsInTimeThenItsStatusIsReported() {
+    // WHEN
+    String metrics = scrape();
+
+    // THEN
+    assertThat(metrics,
+        containsString("application_health_check{check=\"controlled\",status=\"UP\"} 1.0"));
+  }
+
+  @Test
+  void whenCheckTimesOutThenFallbackIsReported() {
+    // GIVEN
+    post("controlled/delay/2000");
+
+    // WHEN
+    // @formatter:off
+    String metrics = RestAssured
+        .when().get("q/metrics/")
+        .then()
+            .statusCode(is(Response.Status.OK.getStatusCode()))
+            .time(lessThan(1_500L))
+            .extract().body().asString();
+    // @formatter:on
+
+    // THEN
+    assertThat(metrics,
+        containsString("application_health_check{check=\"controlled\",status=\"DOWN\"} 1.0"));
+    assertThat(metrics,
+        containsString("application_status{group=\"controlled\",status=\"DOWN\"} 1.0"));
+  }
+}
@@ -0,0 +1,54 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+@QuarkusTest
+class TimersTest {
+  private static final Pattern CHECK_MAX = Pattern
+      .compile("application_health_check_duration_seconds_max\\{check=\"controlled\"} (\\S+)");
+
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @Test
+  void whenScrapedThenCheckAndGroupEvaluationsAreTimed() {
+    // WHEN: timers are registered with the first evaluation, the second scrape reads them
+    scrape();
+    String metrics = scrape();
+
+    // THEN
+    assertThat(metrics,
+        containsString("application_health_check_duration_seconds_count{check=\"controlled\"}"));
+    assertThat(metrics,
+        containsString("application_status_duration_seconds_count{group=\"controlled\"}"));
+  }
+
+  @Test
+  void whenCheckIsSlowThenItsDurationIsRecorded() {
+    // GIVEN
+    post("controlled/delay/300");
+
+    // WHEN
+    scrape();
+    String metrics = scrape();
+
+    // THEN
+    Matcher max = CHECK_MAX.matcher(metrics);
+    assertThat(max.find(), is(true));
+    assertThat(Double.parseDouble(max.group(1)), greaterThanOrEqualTo(0.3));
+  }
+}
@@ -0,0 +1,63 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.valueOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+@QuarkusTest
+class TransitionsTest {
+  private static final String UP_TO_DOWN =
+      "application_health_check_transitions_total{check=\"controlled\",transition=\"up-to-down\"}";
+  private static final String DOWN_TO_UP =
+      "application_health_check_transitions_total{check=\"controlled\",transition=\"down-to-up\"}";
+  private static final String LAST_TRANSITION =
+      "application_health_check_last_transition_seconds{check=\"controlled\"}";
+
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+    scrape();
+  }
+
+  @Test
+  void whenCheckGoesDownAndUpThenBothTransitionsAreCounted() {
+    // GIVEN
+    String before = scrape();
+
+    // WHEN
+    post("controlled/down");
+    post("cache/reset");
+    scrape();
+    post("controlled/up");
+    post("cache/reset");
+    scrape();
+
+    // THEN
+    String after = scrape();
+    assertThat(valueOf(after, UP_TO_DOWN), is(valueOf(before, UP_TO_DOWN) + 1));
+    assertThat(valueOf(after, DOWN_TO_UP), is(valueOf(before, DOWN_TO_UP) + 1));
+    assertThat(valueOf(after, LAST_TRANSITION), greaterThan(0.0));
+  }
+
+  @Test
+  void whenStatusDoesNotChangeThenNoTransitionIsCounted() {
+    // GIVEN
+    String before = scrape();
+
+    // WHEN
+    post("cache/reset");
+    scrape();
+
+    // THEN
+    String after = scrape();
+    assertThat(valueOf(after, UP_TO_DOWN), is(valueOf(before, UP_TO_DOWN)));
+    assertThat(valueOf(after, DOWN_TO_UP), is(valueOf(before, DOWN_TO_UP)));
+  }
+}
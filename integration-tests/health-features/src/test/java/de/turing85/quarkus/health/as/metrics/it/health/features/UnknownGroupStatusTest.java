@@ -0,0 +1,54 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.util.Map;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+@QuarkusTest
+@TestProfile(UnknownGroupStatusTest.Profile.class)
+class UnknownGroupStatusTest {
+  public static class Profile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      // @formatter:off
+      return Map.of(
+          "quarkus.health-as-metrics.encoding", "state-set",
+          "quarkus.health-as-metrics.timeouts.checks.controlled", "200ms",
+          "quarkus.health-as-metrics.timeouts.fallback", "unknown");
+      // @formatter:on
+    }
+  }
+
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @Test
+  void whenMemberHasNoResultThenGroupIsUnknown() {
+    // GIVEN
+    post("controlled/delay/2000");
+
+    // WHEN
+    String metrics = scrape();
+
+    // THEN
+    assertThat(metrics,
+        containsString("application_health_check{check=\"controlled\",status=\"UNKNOWN\"} 1.0"));
+    assertThat(metrics,
+        containsString("application_status{group=\"controlled\",status=\"UNKNOWN\"} 1.0"));
+    assertThat(metrics,
+        containsString("application_status{group=\"controlled\",status=\"UP\"} 0.0"));
+    assertThat(metrics,
+        containsString("application_status{group=\"controlled\",status=\"DOWN\"} 0.0"));
+  }
+}
@@ -0,0 +1,68 @@
+package de.turing85.quarkus.health.as.metrics.it.health.features;
+
+import java.time.Duration;
+import java.util.Map;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.post;
+import static de.turing85.quarkus.health.as.metrics.it.health.features.Requests.scrape;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+@QuarkusTest
+@TestProfile(VirtualThreadsTest.Profile.class)
+class VirtualThreadsTest {
+  // a short interval, so that the check is refreshed in the background
+  public static class Profile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      // @formatter:off
+      return Map.of(
+          "quarkus.health-as-metrics.execution.mode", "virtual-threads",
+          "quarkus.health-as-metrics.refresh.checks.controlled", "100ms");
+      // @formatter:on
+    }
+  }
+
+  @BeforeEach
+  void reset() {
+    Requests.reset();
+  }
+
+  @Test
+  void whenChecksRunOnVirtualThreadsThenTheirStatusIsReported() {
+    // GIVEN
+    scrape();
+
+    // WHEN
+    post("controlled/down");
+
+    // THEN
+    // @formatter:off
+    await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(scrape(),
+        containsString("application_health_check{check=\"controlled\",status=\"DOWN\"} 1.0")));
+    // @formatter:on
+  }
+
+  @Test
+  @EnabledForJreRange(min = JRE.JAVA_21)
+  void whenCheckIsRefreshedThenItRunsOnAVirtualThread() {
+    // @formatter:off
+    await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+      scrape();
+      RestAssured
+          .when().get("controlled/thread")
+          .then().body(containsString("VirtualThread"));
+    });
+    // @formatter:on
+  }
+}
@@ -1,7 +1,10 @@
 package de.turing85.quarkus.health.as.metrics.runtime;
 
 public class Config {
+  // the results are no longer kept in quarkus-cache, see quarkus.health-as-metrics.refresh.*
+  @Deprecated(forRemoval = true)
   public static final String CACHE_CHECK_NAME = "health-check-data";
+  @Deprecated(forRemoval = true)
   public static final String CACHE_REGISTRY_NAME = "health-registry-data";
   public static final String INDIVIDUAL_CHECK_NAME = "application.health-check";
   public static final String TAG_CHECK = "check";
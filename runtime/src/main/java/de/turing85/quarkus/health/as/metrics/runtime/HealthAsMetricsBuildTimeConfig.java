@@ -0,0 +1,87 @@
+package de.turing85.quarkus.health.as.metrics.runtime;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import io.quarkus.runtime.annotations.ConfigPhase;
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "quarkus.health-as-metrics")
+@ConfigRoot(phase = ConfigPhase.BUILD_TIME)
+public interface HealthAsMetricsBuildTimeConfig {
+  /**
+   * Configuration of the numeric value metrics of check data.
+   */
+  ValuesConfig values();
+
+  interface ValuesConfig {
+    /**
+     * Regular expression selecting the data keys whose numeric value ({@code Long},
+     * {@code Integer}, {@code Double}, ...) is exported as gauge
+     * {@code application.health-check.value}. If not set, no values are exported, unless an
+     * application provides its own {@code HealthResponseValueMapper} beans.
+     */
+    Optional<String> keyFilter();
+  }
+
+  /**
+   * Configuration of how results are shared with the health endpoints.
+   */
+  ProbesConfig probes();
+
+  interface ProbesConfig {
+    /**
+     * Whether the responses of {@code HealthCheck} beans called by the health endpoints (e.g.
+     * {@code /q/health/live}) are also used as results for the metrics, so that a check is not
+     * called separately for probes and for metrics. Applies to checks declared as bean classes;
+     * checks from producer methods and {@code HealthRegistry} checks are not shared.
+     */
+    @WithDefault("false")
+    boolean shareResults();
+  }
+
+  /**
+   * Data mappers declared in configuration, keyed by the name of the mapper bean. Declared mappers
+   * take precedence over the default mappers.
+   */
+  Map<String, MapperConfig> mappers();
+
+  interface MapperConfig {
+    /**
+     * Type of the values mapped by the mapper.
+     */
+    MapperType type();
+
+    /**
+     * Regular expression selecting the data keys the mapper applies to. A literal key is matched
+     * exactly, without evaluating a regular expression.
+     */
+    @WithDefault(".*")
+    String keyFilter();
+
+    /**
+     * Values mapped to UP. If not set, all values not listed in {@code down-values} are UP.
+     */
+    Optional<List<String>> upValues();
+
+    /**
+     * Values mapped to DOWN. If not set, all values not listed in {@code up-values} are DOWN. Must
+     * not contain any of the {@code up-values}.
+     */
+    Optional<List<String>> downValues();
+
+    /**
+     * Whether the value itself is also exported as gauge {@code application.health-check.value}.
+     * Only supported for types {@code long} and {@code double}.
+     */
+    @WithDefault("false")
+    boolean numeric();
+  }
+
+  enum MapperType {
+    BOOLEAN, LONG, DOUBLE, STRING, STATUS
+  }
+}
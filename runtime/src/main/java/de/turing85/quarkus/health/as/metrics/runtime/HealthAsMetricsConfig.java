@@ -0,0 +1,290 @@
+package de.turing85.quarkus.health.as.metrics.runtime;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import io.quarkus.runtime.annotations.ConfigPhase;
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "quarkus.health-as-metrics")
+@ConfigRoot(phase = ConfigPhase.RUN_TIME)
+public interface HealthAsMetricsConfig {
+  /**
+   * Configuration of how health checks are evaluated.
+   */
+  EvaluationConfig evaluation();
+
+  interface EvaluationConfig {
+    /**
+     * When health checks are evaluated. With {@code on-demand}, checks are refreshed in the
+     * background when a metric is read and the cached result has expired. With {@code scheduled},
+     * checks are evaluated in the background and metrics only read the latest results.
+     */
+    @WithDefault("on-demand")
+    EvaluationMode mode();
+
+    /**
+     * Delay between two background evaluations in {@code scheduled} mode.
+     */
+    @WithDefault("5s")
+    Duration interval();
+
+    /**
+     * Maximum time to wait for the checks of a {@code HealthRegistry}. All checks of a registry are
+     * evaluated concurrently; checks that did not respond within this time are left out of the
+     * result.
+     */
+    @WithDefault("10s")
+    Duration registryDeadline();
+  }
+
+  /**
+   * Configuration of how often checks, registries and groups are re-evaluated.
+   */
+  RefreshConfig refresh();
+
+  interface RefreshConfig {
+    /**
+     * Age after which a result is refreshed in {@code on-demand} mode, for checks, registries and
+     * groups without a more specific interval. Until the refresh has completed, the previous result
+     * is reported.
+     */
+    @WithDefault("5s")
+    Duration interval();
+
+    /**
+     * How long a result is still reported after its refresh interval has passed, e.g. because the
+     * refresh is slow or failed. Afterward, the result is reported as unknown until a refresh
+     * completes.
+     */
+    @WithDefault("30s")
+    Duration maxStaleness();
+
+    /**
+     * Refresh intervals per health check, keyed by the name of the check's response. Takes
+     * precedence over group intervals.
+     */
+    Map<String, Duration> checks();
+
+    /**
+     * Refresh intervals per health group ({@code health}, {@code live}, {@code ready},
+     * {@code startup}, {@code well} or a custom group name). Applies to the group's status and to
+     * its member checks. If a check belongs to several groups, the shortest interval applies.
+     */
+    Map<String, Duration> groups();
+
+    /**
+     * Refresh intervals per {@code HealthRegistry}, keyed by the kind of the registry
+     * ({@code live}, {@code ready}, {@code startup} or {@code well}).
+     */
+    Map<String, Duration> registries();
+  }
+
+  /**
+   * Configuration of the threads checks are executed on.
+   */
+  ExecutionConfig execution();
+
+  interface ExecutionConfig {
+    /**
+     * Where checks are executed when they are evaluated in the background, run with a timeout, or
+     * evaluated by the scheduler. With {@code worker-pool}, checks run on the Quarkus worker pool.
+     * With {@code virtual-threads}, each check runs on its own virtual thread; this requires Java
+     * 21 or later, otherwise the worker pool is used.
+     */
+    @WithDefault("worker-pool")
+    ExecutionMode mode();
+  }
+
+  /**
+   * Configuration of how results are shared with the health endpoints. Only applies if
+   * {@code quarkus.health-as-metrics.probes.share-results} is enabled at build time.
+   */
+  ProbesConfig probes();
+
+  interface ProbesConfig {
+    /**
+     * If set, the health endpoints (e.g. {@code /q/health/ready}) answer a check from its latest
+     * result if that result is younger than this age, instead of calling the check. If not set, the
+     * endpoints always call the check, and only share their responses with the metrics.
+     */
+    Optional<Duration> maxAge();
+  }
+
+  /**
+   * How the status of checks, data keys and groups is exported. With {@code pair}, each status is
+   * exported as two gauges tagged {@code status="UP"} and {@code status="DOWN"}. With
+   * {@code single}, each status is exported as one gauge without {@code status} tag, with value
+   * {@code 1} for UP, {@code 0} for DOWN and {@code -1} if the status is unknown. With
+   * {@code state-set}, each status is exported as three gauges tagged {@code status="UP"},
+   * {@code status="DOWN"} and {@code status="UNKNOWN"}, of which exactly one has value {@code 1}.
+   */
+  @WithDefault("pair")
+  StatusEncoding encoding();
+
+  /**
+   * Configuration of how metrics are registered at startup.
+   */
+  RegistrationConfig registration();
+
+  interface RegistrationConfig {
+    /**
+     * How checks are discovered at startup. With {@code sync}, all checks are executed once on the
+     * startup thread before the application has started. With {@code async}, checks are discovered
+     * in parallel on the worker pool, and their metrics are registered as their results arrive.
+     */
+    @WithDefault("sync")
+    RegistrationMode mode();
+
+    /**
+     * Maximum time startup waits for the discovery of checks in {@code async} mode. Checks that did
+     * not respond within this time are registered when they respond.
+     */
+    @WithDefault("5s")
+    Duration startupBudget();
+  }
+
+  /**
+   * Configuration of the metrics for check data.
+   */
+  DataConfig data();
+
+  interface DataConfig {
+    /**
+     * How long the metrics of a data key are kept after the key has disappeared from the check's
+     * response. When the key is still missing after this period, its metrics are removed.
+     */
+    @WithDefault("5m")
+    Duration removalGracePeriod();
+  }
+
+  /**
+   * Configuration of limits on the number of series registered by the extension.
+   */
+  LimitsConfig limits();
+
+  interface LimitsConfig {
+    /**
+     * Maximum number of series registered by the extension in total. If not set, the number of
+     * series is not limited.
+     */
+    OptionalInt global();
+
+    /**
+     * Maximum number of series registered for each check, including the series of its data. If not
+     * set, the number of series per check is not limited.
+     */
+    OptionalInt perCheck();
+
+    /**
+     * Maximum number of series per check, keyed by the name of the check. Takes precedence over
+     * {@code per-check}.
+     */
+    Map<String, Integer> checks();
+
+    /**
+     * Maximum number of series registered through a data mapper, keyed by the bean name or
+     * {@code @Identifier} of the mapper (e.g. {@code booleanMapper}).
+     */
+    Map<String, Integer> mappers();
+  }
+
+  /**
+   * Configuration of the timers recording how long checks and group evaluations take.
+   */
+  TimersConfig timers();
+
+  interface TimersConfig {
+    /**
+     * Whether the durations of check and group evaluations are recorded.
+     */
+    @WithDefault("true")
+    boolean enabled();
+
+    /**
+     * Whether the timers publish a percentile histogram, e.g. for use with Prometheus'
+     * {@code histogram_quantile}.
+     */
+    @WithDefault("false")
+    boolean percentileHistogram();
+
+    /**
+     * Percentiles computed on the client side and published by the timers, e.g.
+     * {@code 0.5,0.95,0.99}.
+     */
+    Optional<List<Double>> percentiles();
+  }
+
+  /**
+   * Configuration of the transition metrics of checks, data keys and groups.
+   */
+  TransitionsConfig transitions();
+
+  interface TransitionsConfig {
+    /**
+     * Whether transitions between UP and DOWN are counted, and the time of the last transition is
+     * exported.
+     */
+    @WithDefault("true")
+    boolean enabled();
+  }
+
+  /**
+   * Configuration of per-check timeouts.
+   */
+  TimeoutsConfig timeouts();
+
+  interface TimeoutsConfig {
+    /**
+     * Timeout for all health checks that have no more specific timeout. If not set, checks are not
+     * bounded.
+     */
+    Optional<Duration> global();
+
+    /**
+     * Timeouts per health check, keyed by the name of the check's response. Takes precedence over
+     * group and global timeouts.
+     */
+    Map<String, Duration> checks();
+
+    /**
+     * Timeouts per health group ({@code live}, {@code ready}, {@code startup}, {@code well} or a
+     * custom group name). If a check belongs to several groups, the shortest timeout applies.
+     */
+    Map<String, Duration> groups();
+
+    /**
+     * What to report for a check that did not respond within its timeout. {@code down} reports the
+     * check as down, {@code last-known} reports the last response the check returned, and
+     * {@code unknown} reports neither up nor down, but sets an additional gauge with status
+     * {@code UNKNOWN}.
+     */
+    @WithDefault("down")
+    TimeoutFallback fallback();
+  }
+
+  enum EvaluationMode {
+    ON_DEMAND, SCHEDULED
+  }
+
+  enum ExecutionMode {
+    WORKER_POOL, VIRTUAL_THREADS
+  }
+
+  enum RegistrationMode {
+    SYNC, ASYNC
+  }
+
+  enum StatusEncoding {
+    PAIR, SINGLE, STATE_SET
+  }
+
+  enum TimeoutFallback {
+    DOWN, LAST_KNOWN, UNKNOWN
+  }
+}
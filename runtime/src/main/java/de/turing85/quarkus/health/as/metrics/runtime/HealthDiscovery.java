@@ -0,0 +1,71 @@
+package de.turing85.quarkus.health.as.metrics.runtime;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import jakarta.inject.Singleton;
+
+import org.jboss.logging.Logger;
+
+// Registrations start the evaluations they need without waiting for them (e.g. on the executor),
+// and complete once their metrics are registered. Thus, all registrations run concurrently, and no
+// thread of the executor waits for another one.
+@Singleton
+public class HealthDiscovery {
+  private static final Logger LOGGER = Logger.getLogger(HealthDiscovery.class);
+
+  private final HealthAsMetricsConfig.RegistrationMode mode;
+  private final Duration startupBudget;
+
+  HealthDiscovery(HealthAsMetricsConfig config) {
+    this.mode = config.registration().mode();
+    this.startupBudget = config.registration().startupBudget();
+  }
+
+  public void discover(String kind, List<Supplier<CompletionStage<?>>> registrations) {
+    // @formatter:off
+    CompletableFuture<?>[] futures = registrations.stream()
+        .map(registration -> start(kind, registration))
+        .toArray(CompletableFuture<?>[]::new);
+    // @formatter:on
+    CompletableFuture<Void> discovery = CompletableFuture.allOf(futures);
+    if (mode == HealthAsMetricsConfig.RegistrationMode.SYNC) {
+      discovery.join();
+      return;
+    }
+    try {
+      discovery.get(startupBudget.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      LOGGER.infof("Discovery of %s did not finish within %s, remaining metrics are registered "
+          + "in the background", kind, startupBudget);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOGGER.warnf(e, "Received interruption during discovery of %s", kind);
+    } catch (ExecutionException e) {
+      LOGGER.warnf(e, "Received exception during discovery of %s", kind);
+    }
+  }
+
+  private static CompletableFuture<?> start(String kind,
+      Supplier<CompletionStage<?>> registration) {
+    CompletableFuture<?> future;
+    try {
+      future = registration.get().toCompletableFuture();
+    } catch (RuntimeException e) {
+      future = CompletableFuture.failedFuture(e);
+    }
+    return future.handle((ignored, failure) -> {
+      if (Objects.nonNull(failure)) {
+        LOGGER.warnf(failure, "Received exception during discovery of %s", kind);
+      }
+      return null;
+    });
+  }
+}
@@ -0,0 +1,60 @@
+package de.turing85.quarkus.health.as.metrics.runtime;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Singleton;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import org.jboss.logging.Logger;
+
+// Executes checks off the thread that needs their result. With virtual threads, each task runs on
+// its own virtual thread, so that many blocking checks can run concurrently without sizing a
+// thread pool. The extension is compiled for Java 17, so the virtual thread executor is looked up
+// reflectively; on older runtimes, the worker pool is used instead.
+@Singleton
+public class HealthExecutor implements Executor {
+  private static final Logger LOGGER = Logger.getLogger(HealthExecutor.class);
+
+  private final Optional<ExecutorService> virtualThreads;
+
+  HealthExecutor(HealthAsMetricsConfig config) {
+    if (config.execution().mode() == HealthAsMetricsConfig.ExecutionMode.VIRTUAL_THREADS) {
+      this.virtualThreads = newVirtualThreadPerTaskExecutor();
+    } else {
+      this.virtualThreads = Optional.empty();
+    }
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    if (virtualThreads.isPresent()) {
+      virtualThreads.get().execute(task);
+    } else {
+      // the worker pool is looked up per task, since it is only set up once Quarkus has started
+      Infrastructure.getDefaultWorkerPool().execute(task);
+    }
+  }
+
+  void stop(@Observes ShutdownEvent ignored) {
+    virtualThreads.ifPresent(ExecutorService::shutdownNow);
+  }
+
+  private static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+    try {
+      Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return Optional.of((ExecutorService) factory.invoke(null));
+    } catch (NoSuchMethodException e) {
+      LOGGER.warnf("Virtual threads require Java 21 or later, but running on Java %s; checks are "
+          + "executed on the worker pool", Runtime.version().feature());
+    } catch (ReflectiveOperationException e) {
+      LOGGER.warn("Unable to create virtual thread executor; checks run on the worker pool", e);
+    }
+    return Optional.empty();
+  }
+}
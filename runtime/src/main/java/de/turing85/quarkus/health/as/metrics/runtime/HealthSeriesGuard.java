@@ -0,0 +1,111 @@
+package de.turing85.quarkus.health.as.metrics.runtime;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalInt;
+
+import jakarta.inject.Singleton;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jboss.logging.Logger;
+
+@Singleton
+public class HealthSeriesGuard {
+  private static final Logger LOGGER = Logger.getLogger(HealthSeriesGuard.class);
+
+  private static final String OVERFLOW_NAME = "application.health-check.series.overflow";
+  private static final String TAG_LIMIT = "limit";
+  private static final String LIMIT_GLOBAL = "global";
+  private static final String LIMIT_CHECK = "check";
+  private static final String LIMIT_MAPPER = "mapper";
+
+  private final MeterRegistry registry;
+  private final HealthAsMetricsConfig.LimitsConfig limits;
+  private final Map<String, Integer> seriesByCheck;
+  private final Map<String, Integer> seriesByMapper;
+  private int series;
+
+  HealthSeriesGuard(MeterRegistry registry, HealthAsMetricsConfig config) {
+    this.registry = registry;
+    this.limits = config.limits();
+    this.seriesByCheck = new HashMap<>();
+    this.seriesByMapper = new HashMap<>();
+  }
+
+  public boolean tryAcquireForGroup(String group, int count) {
+    return tryAcquire("group %s".formatted(group), null, null, count);
+  }
+
+  public boolean tryAcquireForCheck(String check, int count) {
+    return tryAcquire("check %s".formatted(check), check, null, count);
+  }
+
+  public boolean tryAcquireForCheck(String check, String mapper, int count) {
+    return tryAcquire("check %s".formatted(check), check, mapper, count);
+  }
+
+  public boolean tryAcquireForData(String check, String mapper, String key, int count) {
+    return tryAcquire("data %s of check %s".formatted(key, check), check, mapper, count);
+  }
+
+  public synchronized void releaseForData(String check, String mapper, int count) {
+    series -= count;
+    seriesByCheck.merge(check, -count, Integer::sum);
+    seriesByMapper.merge(mapper, -count, Integer::sum);
+  }
+
+  private synchronized boolean tryAcquire(String description, String check, String mapper,
+      int count) {
+    if (exceeds(limits.global(), series, count)) {
+      return reject(LIMIT_GLOBAL, description, count);
+    }
+    if (Objects.nonNull(check)
+        && exceeds(checkLimit(check), seriesOf(seriesByCheck, check), count)) {
+      return reject(LIMIT_CHECK, description, count);
+    }
+    if (Objects.nonNull(mapper)
+        && exceeds(mapperLimit(mapper), seriesOf(seriesByMapper, mapper), count)) {
+      return reject(LIMIT_MAPPER, description, count);
+    }
+    series += count;
+    if (Objects.nonNull(check)) {
+      seriesByCheck.merge(check, count, Integer::sum);
+    }
+    if (Objects.nonNull(mapper)) {
+      seriesByMapper.merge(mapper, count, Integer::sum);
+    }
+    return true;
+  }
+
+  private OptionalInt checkLimit(String check) {
+    Integer limit = limits.checks().get(check);
+    return Objects.nonNull(limit) ? OptionalInt.of(limit) : limits.perCheck();
+  }
+
+  private OptionalInt mapperLimit(String mapper) {
+    Integer limit = limits.mappers().get(mapper);
+    return Objects.nonNull(limit) ? OptionalInt.of(limit) : OptionalInt.empty();
+  }
+
+  private static int seriesOf(Map<String, Integer> seriesByName, String name) {
+    return seriesByName.getOrDefault(name, 0);
+  }
+
+  private static boolean exceeds(OptionalInt limit, int current, int count) {
+    return limit.isPresent() && current + count > limit.getAsInt();
+  }
+
+  private boolean reject(String limit, String description, int count) {
+    LOGGER.warnf("Series limit (%s) reached, not registering %d series for %s", limit, count,
+        description);
+    // @formatter:off
+    Counter.builder(OVERFLOW_NAME)
+        .tag(TAG_LIMIT, limit)
+        .register(registry)
+        .increment(count);
+    // @formatter:on
+    return false;
+  }
+}
@@ -0,0 +1,91 @@
+package de.turing85.quarkus.health.as.metrics.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+import jakarta.inject.Singleton;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+@Singleton
+public class HealthStatusGauges {
+  private static final String STATUS_UP = "UP";
+  private static final String STATUS_DOWN = "DOWN";
+  private static final String STATUS_UNKNOWN = "UNKNOWN";
+
+  private static final double SINGLE_UP = 1;
+  private static final double SINGLE_DOWN = 0;
+  private static final double SINGLE_UNKNOWN = -1;
+
+  private final MeterRegistry registry;
+  private final HealthAsMetricsConfig.StatusEncoding encoding;
+
+  HealthStatusGauges(MeterRegistry registry, HealthAsMetricsConfig config) {
+    this.registry = registry;
+    this.encoding = config.encoding();
+  }
+
+  public int seriesCount(boolean withUnknown) {
+    return switch (encoding) {
+      case PAIR -> withUnknown ? 3 : 2;
+      case SINGLE -> 1;
+      case STATE_SET -> 3;
+    };
+  }
+
+  // A status is UNKNOWN if it is neither UP nor DOWN. In pair encoding, the UNKNOWN gauge is only
+  // registered if requested, in state-set encoding it is always registered.
+  public <T> List<Meter> register(String name, Tags tags, T object, ToDoubleFunction<T> upMapper,
+      ToDoubleFunction<T> downMapper, boolean withUnknown) {
+    ToDoubleFunction<T> unknownMapper = o -> isUnknown(o, upMapper, downMapper) ? 1 : 0;
+    List<Meter> meters = new ArrayList<>();
+    switch (encoding) {
+      case PAIR -> {
+        meters.add(register(name, tags.and(Config.TAG_STATUS, STATUS_UP), object, upMapper));
+        meters.add(register(name, tags.and(Config.TAG_STATUS, STATUS_DOWN), object, downMapper));
+        if (withUnknown) {
+          meters.add(
+              register(name, tags.and(Config.TAG_STATUS, STATUS_UNKNOWN), object, unknownMapper));
+        }
+      }
+      case SINGLE ->
+        meters.add(register(name, tags, object, o -> toSingleValue(o, upMapper, downMapper)));
+      case STATE_SET -> {
+        meters.add(register(name, tags.and(Config.TAG_STATUS, STATUS_UP), object, upMapper));
+        meters.add(register(name, tags.and(Config.TAG_STATUS, STATUS_DOWN), object, downMapper));
+        meters.add(
+            register(name, tags.and(Config.TAG_STATUS, STATUS_UNKNOWN), object, unknownMapper));
+      }
+    }
+    return meters;
+  }
+
+  private <T> Gauge register(String name, Tags tags, T object, ToDoubleFunction<T> mapper) {
+    // @formatter:off
+    return Gauge.builder(name, object, mapper)
+        .tags(tags)
+        .strongReference(true)
+        .register(registry);
+    // @formatter:on
+  }
+
+  private static <T> boolean isUnknown(T object, ToDoubleFunction<T> upMapper,
+      ToDoubleFunction<T> downMapper) {
+    return upMapper.applyAsDouble(object) <= 0 && downMapper.applyAsDouble(object) <= 0;
+  }
+
+  private static <T> double toSingleValue(T object, ToDoubleFunction<T> upMapper,
+      ToDoubleFunction<T> downMapper) {
+    if (upMapper.applyAsDouble(object) > 0) {
+      return SINGLE_UP;
+    }
+    if (downMapper.applyAsDouble(object) > 0) {
+      return SINGLE_DOWN;
+    }
+    return SINGLE_UNKNOWN;
+  }
+}
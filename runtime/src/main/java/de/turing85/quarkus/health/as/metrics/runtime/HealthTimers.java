@@ -0,0 +1,125 @@
+package de.turing85.quarkus.health.as.metrics.runtime;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import jakarta.inject.Singleton;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+
+@Singleton
+public class HealthTimers {
+  private static final String CHECK_DURATION_NAME = "application.health-check.duration";
+  private static final String GROUP_DURATION_NAME = "application.status.duration";
+  private static final String TAG_GROUP = "group";
+
+  // the range of the histogram buckets Micrometer publishes for timers
+  private static final Duration MINIMUM_EXPECTED_DURATION = Duration.ofMillis(1);
+  private static final Duration MAXIMUM_EXPECTED_DURATION = Duration.ofSeconds(30);
+
+  // count, sum and max
+  private static final int BASE_SERIES_COUNT = 3;
+
+  private final MeterRegistry registry;
+  private final HealthSeriesGuard seriesGuard;
+  private final HealthAsMetricsConfig.TimersConfig config;
+  private final int seriesCount;
+
+  // timers rejected by the series guard are kept as empty, so that they are not requested again
+  private final Map<String, Optional<Timer>> checkTimers;
+  private final Map<String, Optional<Timer>> groupTimers;
+
+  HealthTimers(MeterRegistry registry, HealthSeriesGuard seriesGuard,
+      HealthAsMetricsConfig config) {
+    this.registry = registry;
+    this.seriesGuard = seriesGuard;
+    this.config = config.timers();
+    this.seriesCount = seriesCount(this.config);
+    this.checkTimers = new ConcurrentHashMap<>();
+    this.groupTimers = new ConcurrentHashMap<>();
+  }
+
+  public <T> T recordCheck(String check, Supplier<T> evaluation) {
+    if (!config.enabled()) {
+      return evaluation.get();
+    }
+    return record(checkTimer(check), evaluation);
+  }
+
+  public void recordCheck(String check, long durationNanos) {
+    if (config.enabled()) {
+      checkTimer(check).ifPresent(timer -> timer.record(durationNanos, TimeUnit.NANOSECONDS));
+    }
+  }
+
+  public <T> T recordGroup(String group, Supplier<T> evaluation) {
+    if (!config.enabled()) {
+      return evaluation.get();
+    }
+    // @formatter:off
+    Optional<Timer> timer = groupTimers.computeIfAbsent(group, unused -> seriesGuard
+        .tryAcquireForGroup(group, seriesCount)
+            ? Optional.of(timer(GROUP_DURATION_NAME, TAG_GROUP, group))
+            : Optional.empty());
+    // @formatter:on
+    return record(timer, evaluation);
+  }
+
+  private static <T> T record(Optional<Timer> timer, Supplier<T> evaluation) {
+    if (timer.isEmpty()) {
+      return evaluation.get();
+    }
+    return timer.get().record(evaluation);
+  }
+
+  private Optional<Timer> checkTimer(String check) {
+    // @formatter:off
+    return checkTimers.computeIfAbsent(check, unused -> seriesGuard
+        .tryAcquireForCheck(check, seriesCount)
+            ? Optional.of(timer(CHECK_DURATION_NAME, Config.TAG_CHECK, check))
+            : Optional.empty());
+    // @formatter:on
+  }
+
+  private Timer timer(String name, String tagKey, String tagValue) {
+    // @formatter:off
+    return Timer.builder(name)
+        .tag(tagKey, tagValue)
+        .publishPercentileHistogram(config.percentileHistogram())
+        .publishPercentiles(percentiles(config))
+        .minimumExpectedValue(MINIMUM_EXPECTED_DURATION)
+        .maximumExpectedValue(MAXIMUM_EXPECTED_DURATION)
+        .register(registry);
+    // @formatter:on
+  }
+
+  // One series per percentile, and one per histogram bucket plus the +Inf bucket
+  private static int seriesCount(HealthAsMetricsConfig.TimersConfig config) {
+    int count = BASE_SERIES_COUNT + percentiles(config).length;
+    if (config.percentileHistogram()) {
+      // @formatter:off
+      DistributionStatisticConfig distribution = DistributionStatisticConfig.builder()
+          .percentilesHistogram(true)
+          .minimumExpectedValue((double) MINIMUM_EXPECTED_DURATION.toNanos())
+          .maximumExpectedValue((double) MAXIMUM_EXPECTED_DURATION.toNanos())
+          .build();
+      // @formatter:on
+      count += distribution.getHistogramBuckets(true).size() + 1;
+    }
+    return count;
+  }
+
+  private static double[] percentiles(HealthAsMetricsConfig.TimersConfig config) {
+    // @formatter:off
+    return config.percentiles()
+        .map(percentiles -> percentiles.stream().mapToDouble(Double::doubleValue).toArray())
+        .orElseGet(() -> new double[0]);
+    // @formatter:on
+  }
+}
@@ -0,0 +1,107 @@
+package de.turing85.quarkus.health.as.metrics.runtime;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.inject.Singleton;
+
+import de.turing85.quarkus.health.as.metrics.runtime.snapshot.HealthStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+@Singleton
+public class HealthTransitions {
+  private static final String TRANSITIONS_SUFFIX = ".transitions";
+  private static final String LAST_TRANSITION_SUFFIX = ".last-transition";
+  private static final String TAG_TRANSITION = "transition";
+  private static final String TRANSITION_UP_TO_DOWN = "up-to-down";
+  private static final String TRANSITION_DOWN_TO_UP = "down-to-up";
+  private static final int SERIES_COUNT = 3;
+
+  private final MeterRegistry registry;
+  private final boolean enabled;
+
+  HealthTransitions(MeterRegistry registry, HealthAsMetricsConfig config) {
+    this.registry = registry;
+    this.enabled = config.transitions().enabled();
+  }
+
+  public int seriesCount() {
+    return enabled ? SERIES_COUNT : 0;
+  }
+
+  public Tracker register(String name, Tags tags) {
+    if (!enabled) {
+      return Tracker.NONE;
+    }
+    AtomicLong lastTransitionMillis = new AtomicLong();
+    // @formatter:off
+    Counter upToDown = Counter.builder(name + TRANSITIONS_SUFFIX)
+        .tags(tags.and(TAG_TRANSITION, TRANSITION_UP_TO_DOWN))
+        .register(registry);
+    Counter downToUp = Counter.builder(name + TRANSITIONS_SUFFIX)
+        .tags(tags.and(TAG_TRANSITION, TRANSITION_DOWN_TO_UP))
+        .register(registry);
+    Gauge lastTransition = Gauge
+        .builder(
+            name + LAST_TRANSITION_SUFFIX,
+            lastTransitionMillis,
+            millis -> millis.get() / (double) TimeUnit.SECONDS.toMillis(1))
+        .tags(tags)
+        .baseUnit("seconds")
+        .strongReference(true)
+        .register(registry);
+    // @formatter:on
+    return new Tracker(registry, upToDown, downToUp, lastTransitionMillis,
+        List.of(upToDown, downToUp, lastTransition));
+  }
+
+  public static final class Tracker {
+    public static final Tracker NONE = new Tracker(null, null, null, null, List.of());
+
+    private final MeterRegistry registry;
+    private final Counter upToDown;
+    private final Counter downToUp;
+    private final AtomicLong lastTransitionMillis;
+    private final List<Meter> meters;
+    private final AtomicReference<HealthStatus> lastStatus;
+
+    private Tracker(MeterRegistry registry, Counter upToDown, Counter downToUp,
+        AtomicLong lastTransitionMillis, List<Meter> meters) {
+      this.registry = registry;
+      this.upToDown = upToDown;
+      this.downToUp = downToUp;
+      this.lastTransitionMillis = lastTransitionMillis;
+      this.meters = meters;
+      this.lastStatus = new AtomicReference<>();
+    }
+
+    public List<Meter> meters() {
+      return meters;
+    }
+
+    // UNKNOWN is not a state of its own: a check that recovers from an UNKNOWN result to its
+    // previous status has not transitioned.
+    public void observe(HealthStatus status) {
+      if (meters.isEmpty() || status == HealthStatus.UNKNOWN) {
+        return;
+      }
+      HealthStatus previous = lastStatus.getAndSet(status);
+      if (Objects.isNull(previous) || previous == status) {
+        return;
+      }
+      if (status == HealthStatus.DOWN) {
+        upToDown.increment();
+      } else {
+        downToUp.increment();
+      }
+      lastTransitionMillis.set(registry.config().clock().wallTime());
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package de.turing85.quarkus.health.as.metrics.runtime.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+// Caches the latest result per key. Unlike a cache with a single expire-after-write, each read
+// passes the maximum age of the result, so that every key can be refreshed at its own interval.
+public class HealthResultCache<K, V> {
+  private final Executor refreshExecutor;
+  private final Duration maxStaleness;
+  private final Map<K, ResultSlot<V>> slots;
+
+  HealthResultCache(Executor refreshExecutor, Duration maxStaleness) {
+    this.refreshExecutor = refreshExecutor;
+    this.maxStaleness = maxStaleness;
+    this.slots = new ConcurrentHashMap<>();
+  }
+
+  public V get(K key, Duration maxAge, Supplier<V> evaluation) {
+    return slot(key).get(maxAge, evaluation);
+  }
+
+  // see ResultSlot#getOrRefresh
+  public V getOrRefresh(K key, Duration maxAge, Supplier<V> evaluation, V unknown) {
+    return slot(key).getOrRefresh(maxAge, maxStaleness, refreshExecutor, evaluation, unknown);
+  }
+
+  public Optional<V> getIfFresh(K key, Duration maxAge) {
+    return slot(key).getIfFresh(maxAge);
+  }
+
+  public void put(K key, V value) {
+    slot(key).put(value);
+  }
+
+  // the slots are kept, so that refreshes in flight detect the invalidation
+  public void invalidateAll() {
+    slots.values().forEach(ResultSlot::invalidate);
+  }
+
+  private ResultSlot<V> slot(K key) {
+    return slots.computeIfAbsent(key, unused -> new ResultSlot<>());
+  }
+}
@@ -0,0 +1,44 @@
+package de.turing85.quarkus.health.as.metrics.runtime.cache;
+
+import java.time.Duration;
+import java.util.Map;
+
+import jakarta.inject.Singleton;
+
+import de.turing85.quarkus.health.as.metrics.runtime.HealthAsMetricsConfig;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthExecutor;
+import de.turing85.quarkus.health.as.metrics.runtime.snapshot.CheckResult;
+import de.turing85.quarkus.health.as.metrics.runtime.snapshot.HealthStatus;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+@Singleton
+public class HealthResultCaches {
+  private final HealthResultSlots<CheckResult> checks;
+  private final HealthResultSlots<Map<String, HealthCheckResponse>> registries;
+  private final HealthResultCache<String, HealthStatus> groups;
+
+  HealthResultCaches(HealthExecutor executor, HealthAsMetricsConfig config) {
+    Duration maxStaleness = config.refresh().maxStaleness();
+    this.checks = new HealthResultSlots<>(maxStaleness);
+    this.registries = new HealthResultSlots<>(maxStaleness);
+    this.groups = new HealthResultCache<>(executor, maxStaleness);
+  }
+
+  public HealthResultSlots<CheckResult> checks() {
+    return checks;
+  }
+
+  public HealthResultSlots<Map<String, HealthCheckResponse>> registries() {
+    return registries;
+  }
+
+  public HealthResultCache<String, HealthStatus> groups() {
+    return groups;
+  }
+
+  public void invalidateAll() {
+    checks.invalidateAll();
+    registries.invalidateAll();
+    groups.invalidateAll();
+  }
+}
@@ -0,0 +1,60 @@
+package de.turing85.quarkus.health.as.metrics.runtime.cache;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+// Caches the latest result per id. Ids are handed out by allocate() and index an array of slots,
+// so that a read neither hashes its key nor takes a lock. Slots are only allocated while checks
+// are discovered, so the array is copied on each allocation and published through a volatile
+// write.
+public class HealthResultSlots<V> {
+  private final Duration maxStaleness;
+  private volatile ResultSlot<?>[] slots;
+
+  HealthResultSlots(Duration maxStaleness) {
+    this.maxStaleness = maxStaleness;
+    this.slots = new ResultSlot<?>[0];
+  }
+
+  public synchronized int allocate() {
+    int id = slots.length;
+    ResultSlot<?>[] grown = Arrays.copyOf(slots, id + 1);
+    grown[id] = new ResultSlot<V>();
+    slots = grown;
+    return id;
+  }
+
+  // see ResultSlot#getOrRefreshAsync
+  public V getOrRefreshAsync(int id, Duration maxAge, Supplier<CompletionStage<V>> evaluation,
+      V unknown) {
+    return slot(id).getOrRefreshAsync(maxAge, maxStaleness, evaluation, unknown);
+  }
+
+  public CompletableFuture<V> getAsync(int id, Duration maxAge,
+      Supplier<CompletionStage<V>> evaluation) {
+    return slot(id).getAsync(maxAge, evaluation);
+  }
+
+  public Optional<V> getIfFresh(int id, Duration maxAge) {
+    return slot(id).getIfFresh(maxAge);
+  }
+
+  public void put(int id, V value) {
+    slot(id).put(value);
+  }
+
+  public void invalidateAll() {
+    for (ResultSlot<?> slot : slots) {
+      slot.invalidate();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private ResultSlot<V> slot(int id) {
+    return (ResultSlot<V>) slots[id];
+  }
+}
@@ -0,0 +1,214 @@
+package de.turing85.quarkus.health.as.metrics.runtime.cache;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import io.vertx.core.Context;
+import org.jboss.logging.Logger;
+
+// Holds the latest result of one cache key. Failed evaluations are not stored.
+//
+// Evaluations are single-flight: while an evaluation of the slot is running, callers that need a
+// result join it instead of starting their own, so concurrent scrapes evaluate a check at most
+// once per interval. An evaluation only writes its result if the entry it started from is still
+// current, so that an evaluation started before an invalidation does not write afterwards.
+final class ResultSlot<V> {
+  private static final Logger LOGGER = Logger.getLogger(ResultSlot.class);
+
+  private final AtomicReference<Entry<V>> entry;
+  private final AtomicReference<CompletableFuture<V>> inFlight;
+
+  ResultSlot() {
+    this.entry = new AtomicReference<>();
+    this.inFlight = new AtomicReference<>();
+  }
+
+  V get(Duration maxAge, Supplier<V> evaluation) {
+    return getIfFresh(maxAge).orElseGet(() -> evaluate(evaluation));
+  }
+
+  // Refresh-ahead: a result older than maxAge is still served while it is re-evaluated in the
+  // background, so that reads never wait for an evaluation once the slot has a result. A result
+  // that is more than maxStaleness past its maxAge is replaced by unknown until the refresh
+  // completes. Only the very first read evaluates on the calling thread.
+  V getOrRefresh(Duration maxAge, Duration maxStaleness, Executor refreshExecutor,
+      Supplier<V> evaluation, V unknown) {
+    Entry<V> current = entry.get();
+    if (absent(current)) {
+      return evaluate(evaluation);
+    }
+    long age = System.nanoTime() - current.writtenAtNanos();
+    if (age < maxAge.toNanos()) {
+      return current.value();
+    }
+    refresh(current, () -> CompletableFuture.supplyAsync(evaluation, refreshExecutor));
+    return stale(age, maxAge, maxStaleness) ? unknown : current.value();
+  }
+
+  // Same as getOrRefresh, for evaluations that complete asynchronously, e.g. on the event loop.
+  // Refreshes subscribe to the evaluation without occupying a thread while it is running. The
+  // event loop must not be blocked, so a first read on an event loop thread only starts the
+  // evaluation and returns unknown.
+  V getOrRefreshAsync(Duration maxAge, Duration maxStaleness,
+      Supplier<CompletionStage<V>> evaluation, V unknown) {
+    Entry<V> current = entry.get();
+    if (absent(current)) {
+      CompletableFuture<V> flight = evaluateAsync(evaluation);
+      if (Context.isOnEventLoopThread()) {
+        flight.whenComplete((ignored, failure) -> {
+          if (Objects.nonNull(failure)) {
+            LOGGER.warn("Received exception during evaluation", unwrap(failure));
+          }
+        });
+        return unknown;
+      }
+      return join(flight);
+    }
+    long age = System.nanoTime() - current.writtenAtNanos();
+    if (age < maxAge.toNanos()) {
+      return current.value();
+    }
+    refresh(current, evaluation);
+    return stale(age, maxAge, maxStaleness) ? unknown : current.value();
+  }
+
+  CompletableFuture<V> getAsync(Duration maxAge, Supplier<CompletionStage<V>> evaluation) {
+    // @formatter:off
+    return getIfFresh(maxAge)
+        .map(CompletableFuture::completedFuture)
+        .orElseGet(() -> evaluateAsync(evaluation));
+    // @formatter:on
+  }
+
+  private static boolean stale(long age, Duration maxAge, Duration maxStaleness) {
+    return age - maxAge.toNanos() >= maxStaleness.toNanos();
+  }
+
+  Optional<V> getIfFresh(Duration maxAge) {
+    Entry<V> current = entry.get();
+    if (absent(current) || System.nanoTime() - current.writtenAtNanos() >= maxAge.toNanos()) {
+      return Optional.empty();
+    }
+    return Optional.of(current.value());
+  }
+
+  void put(V value) {
+    entry.set(Entry.of(value));
+  }
+
+  // Evaluations in flight are detached, so that callers after the invalidation start a new one.
+  // Each invalidation writes a new marker, so that evaluations that started before it, even from
+  // an empty slot, fail to write their result.
+  void invalidate() {
+    entry.set(Entry.invalidation());
+    inFlight.set(null);
+  }
+
+  private static boolean absent(Entry<?> current) {
+    return Objects.isNull(current) || current.invalidated();
+  }
+
+  private V evaluate(Supplier<V> evaluation) {
+    Entry<V> current = entry.get();
+    CompletableFuture<V> flight = new CompletableFuture<>();
+    CompletableFuture<V> running = inFlight.compareAndExchange(null, flight);
+    if (Objects.nonNull(running)) {
+      return join(running);
+    }
+    try {
+      V value = evaluation.get();
+      entry.compareAndSet(current, Entry.of(value));
+      flight.complete(value);
+      return value;
+    } catch (RuntimeException e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.compareAndSet(flight, null);
+    }
+  }
+
+  private CompletableFuture<V> evaluateAsync(Supplier<CompletionStage<V>> evaluation) {
+    Entry<V> current = entry.get();
+    CompletableFuture<V> flight = new CompletableFuture<>();
+    CompletableFuture<V> running = inFlight.compareAndExchange(null, flight);
+    if (Objects.nonNull(running)) {
+      return running;
+    }
+    try {
+      evaluation.get().whenComplete((value, failure) -> {
+        if (Objects.isNull(failure)) {
+          entry.compareAndSet(current, Entry.of(value));
+          flight.complete(value);
+        } else {
+          flight.completeExceptionally(failure);
+        }
+        inFlight.compareAndSet(flight, null);
+      });
+    } catch (RuntimeException e) {
+      flight.completeExceptionally(e);
+      inFlight.compareAndSet(flight, null);
+    }
+    return flight;
+  }
+
+  private static <V> V join(CompletableFuture<V> flight) {
+    try {
+      return flight.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
+  }
+
+  // Reads during a refresh keep the current entry. The result is only written back if the entry
+  // has neither been invalidated nor replaced in the meantime.
+  private void refresh(Entry<V> current, Supplier<CompletionStage<V>> evaluation) {
+    CompletableFuture<V> flight = new CompletableFuture<>();
+    if (!inFlight.compareAndSet(null, flight)) {
+      return;
+    }
+    try {
+      evaluation.get().whenComplete((value, failure) -> {
+        if (Objects.isNull(failure)) {
+          entry.compareAndSet(current, Entry.of(value));
+          flight.complete(value);
+        } else {
+          flight.completeExceptionally(failure);
+          LOGGER.warn("Received exception during background refresh", unwrap(failure));
+        }
+        inFlight.compareAndSet(flight, null);
+      });
+    } catch (RuntimeException e) {
+      flight.completeExceptionally(e);
+      inFlight.compareAndSet(flight, null);
+      LOGGER.warn("Could not schedule background refresh", e);
+    }
+  }
+
+  private static Throwable unwrap(Throwable failure) {
+    if (failure instanceof CompletionException && Objects.nonNull(failure.getCause())) {
+      return failure.getCause();
+    }
+    return failure;
+  }
+
+  private record Entry<V>(V value, long writtenAtNanos, boolean invalidated) {
+    static <V> Entry<V> of(V value) {
+      return new Entry<>(value, System.nanoTime(), false);
+    }
+
+    static <V> Entry<V> invalidation() {
+      return new Entry<>(null, 0L, true);
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package de.turing85.quarkus.health.as.metrics.runtime.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+// Maps the ids handed out by HealthResultSlots#allocate() to the objects owning them, e.g. the
+// registered checks. Like the slots, entries are only added while checks are discovered, so the
+// array is copied on each addition and a lookup is a plain array read.
+public class SlotIndex<T> {
+  private volatile Object[] values;
+
+  public SlotIndex() {
+    this.values = new Object[0];
+  }
+
+  public synchronized void put(int id, T value) {
+    Object[] grown = Arrays.copyOf(values, Math.max(values.length, id + 1));
+    grown[id] = value;
+    values = grown;
+  }
+
+  // null if no object has been added for the id yet
+  @SuppressWarnings("unchecked")
+  public T get(int id) {
+    Object[] current = values;
+    return id < current.length ? (T) current[id] : null;
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<T> values() {
+    List<T> result = new ArrayList<>();
+    for (Object value : values) {
+      if (Objects.nonNull(value)) {
+        result.add((T) value);
+      }
+    }
+    return result;
+  }
+}
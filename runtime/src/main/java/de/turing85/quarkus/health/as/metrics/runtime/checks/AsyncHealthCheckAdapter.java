@@ -0,0 +1,34 @@
+package de.turing85.quarkus.health.as.metrics.runtime.checks;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import io.smallrye.health.api.AsyncHealthCheck;
+import io.smallrye.mutiny.Uni;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+// Lets an AsyncHealthCheck take part in group membership and evaluation like a HealthCheck. The
+// extension only subscribes to callAsync(); call() blocks for at most the timeout of the check.
+final class AsyncHealthCheckAdapter implements HealthCheck {
+  private final AsyncHealthCheck delegate;
+  private final Optional<Duration> timeout;
+
+  AsyncHealthCheckAdapter(AsyncHealthCheck delegate, Optional<Duration> timeout) {
+    this.delegate = delegate;
+    this.timeout = timeout;
+  }
+
+  Uni<HealthCheckResponse> callAsync() {
+    return delegate.call();
+  }
+
+  @Override
+  public HealthCheckResponse call() {
+    // @formatter:off
+    return timeout
+        .map(atMost -> callAsync().await().atMost(atMost))
+        .orElseGet(() -> callAsync().await().indefinitely());
+    // @formatter:on
+  }
+}
@@ -0,0 +1,14 @@
+package de.turing85.quarkus.health.as.metrics.runtime.checks;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import io.quarkus.runtime.annotations.Recorder;
+
+@Recorder
+public class HealthCheckNamesRecorder {
+  public Supplier<Map<String, String>> wrap(Map<String, String> namesByClassName) {
+    Map<String, String> immutableNamesByClassName = Map.copyOf(namesByClassName);
+    return () -> immutableNamesByClassName;
+  }
+}
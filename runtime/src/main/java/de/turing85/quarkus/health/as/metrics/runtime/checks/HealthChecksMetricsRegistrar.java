@@ -1,132 +1,719 @@
 package de.turing85.quarkus.health.as.metrics.runtime.checks;
 
-import java.util.Collection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
 
 import jakarta.enterprise.event.Observes;
 import jakarta.enterprise.inject.Any;
 import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.spi.Bean;
 import jakarta.inject.Singleton;
 
 import de.turing85.quarkus.health.as.metrics.runtime.Config;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthAsMetricsConfig;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthDiscovery;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthExecutor;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthSeriesGuard;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthStatusGauges;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthTimers;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthTransitions;
+import de.turing85.quarkus.health.as.metrics.runtime.cache.HealthResultCaches;
+import de.turing85.quarkus.health.as.metrics.runtime.cache.SlotIndex;
+import de.turing85.quarkus.health.as.metrics.runtime.datamappers.DataMapperDispatcher;
 import de.turing85.quarkus.health.as.metrics.runtime.datamappers.HealthResponseDataMapper;
+import de.turing85.quarkus.health.as.metrics.runtime.datamappers.HealthResponseValueMapper;
+import de.turing85.quarkus.health.as.metrics.runtime.datamappers.NamedDataMapper;
+import de.turing85.quarkus.health.as.metrics.runtime.datamappers.NamedValueMapper;
+import de.turing85.quarkus.health.as.metrics.runtime.groups.HealthGroupMembership;
+import de.turing85.quarkus.health.as.metrics.runtime.snapshot.CheckResult;
+import de.turing85.quarkus.health.as.metrics.runtime.snapshot.HealthSnapshots;
+import de.turing85.quarkus.health.as.metrics.runtime.snapshot.HealthStatus;
 import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.quarkus.cache.CacheKey;
-import io.quarkus.cache.CacheResult;
+import io.micrometer.core.instrument.Tags;
+import io.quarkus.arc.InjectableBean;
 import io.quarkus.runtime.StartupEvent;
+import io.smallrye.common.annotation.Identifier;
+import io.smallrye.health.api.AsyncHealthCheck;
+import io.smallrye.mutiny.Uni;
 import org.eclipse.microprofile.health.HealthCheck;
 import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.jboss.logging.Logger;
 
 @Singleton
 public class HealthChecksMetricsRegistrar {
+  public static final String HEALTH_CHECK_NAMES_BEAN_NAME = "healthCheckNamesByClassName";
+
+  private static final Logger LOGGER = Logger.getLogger(HealthChecksMetricsRegistrar.class);
+
+  private static final String VALUE_NAME = "application.health-check.value";
+
   private final MeterRegistry registry;
   private final Instance<HealthCheck> healthChecks;
-  private final Instance<HealthResponseDataMapper<?>> dataMappers;
+  private final Instance<AsyncHealthCheck> asyncHealthChecks;
+  private final DataMapperDispatcher dataMappers;
+  private final HealthSnapshots snapshots;
+  private final HealthGroupMembership groupMembership;
+  private final HealthDiscovery discovery;
+  private final HealthSeriesGuard seriesGuard;
+  private final HealthStatusGauges statusGauges;
+  private final HealthTimers timers;
+  private final HealthTransitions transitions;
+  private final HealthResultCaches caches;
+  private final HealthExecutor executor;
+  private final HealthAsMetricsConfig.TimeoutsConfig timeouts;
+  private final HealthAsMetricsConfig.RefreshConfig refresh;
+  private final Duration evaluationInterval;
+  private final Optional<Duration> probeMaxAge;
+  private final SlotIndex<RegisteredCheck> registeredChecks;
+  private final Map<Bean<?>, RegisteredCheck> registeredChecksByBean;
+  private final Duration dataRemovalGracePeriod;
+  private final Map<String, String> namesByClassName;
 
   HealthChecksMetricsRegistrar(MeterRegistry registry, @Any Instance<HealthCheck> healthChecks,
-      @Any Instance<HealthResponseDataMapper<?>> dataMappers) {
+      @Any Instance<AsyncHealthCheck> asyncHealthChecks, DataMapperDispatcher dataMappers,
+      HealthSnapshots snapshots, HealthGroupMembership groupMembership, HealthDiscovery discovery,
+      HealthSeriesGuard seriesGuard, HealthStatusGauges statusGauges, HealthTimers timers,
+      HealthTransitions transitions, HealthResultCaches caches, HealthExecutor executor,
+      HealthAsMetricsConfig config,
+
+      @Identifier(HEALTH_CHECK_NAMES_BEAN_NAME)
+      @SuppressWarnings("CdiInjectionPointsInspection") Map<String, String> namesByClassName) {
     this.registry = registry;
     this.healthChecks = healthChecks;
+    this.asyncHealthChecks = asyncHealthChecks;
     this.dataMappers = dataMappers;
+    this.snapshots = snapshots;
+    this.groupMembership = groupMembership;
+    this.discovery = discovery;
+    this.seriesGuard = seriesGuard;
+    this.statusGauges = statusGauges;
+    this.timers = timers;
+    this.transitions = transitions;
+    this.caches = caches;
+    this.executor = executor;
+    this.timeouts = config.timeouts();
+    this.refresh = config.refresh();
+    this.evaluationInterval = config.evaluation().interval();
+    this.probeMaxAge = config.probes().maxAge();
+    this.registeredChecks = new SlotIndex<>();
+    this.registeredChecksByBean = new ConcurrentHashMap<>();
+    this.dataRemovalGracePeriod = config.data().removalGracePeriod();
+    this.namesByClassName = namesByClassName;
   }
 
   void registerHealthChecks(@Observes StartupEvent ignored) {
     // @formatter:off
-    healthChecks.stream()
-        .forEach(healthCheck -> registerHealthCheck(
-            healthCheck,
-            healthCheck.call().getName(),
-            this::healthCheckToIntForUp,
-            this::healthCheckToIntForDown,
-            registry,
-            dataMappers));
+    Stream<Supplier<CompletionStage<?>>> checks = healthChecks.handlesStream()
+        .map(handle -> () -> registerHealthCheck(handle.get(), handle.getBean()));
+    Stream<Supplier<CompletionStage<?>>> asyncChecks = asyncHealthChecks.handlesStream()
+        .map(handle -> () -> registerHealthCheck(
+            asyncHealthCheckAdapter(handle.get(), handle.getBean()),
+            handle.getBean()));
     // @formatter:on
+    discovery.discover("health checks", Stream.concat(checks, asyncChecks).toList());
   }
 
-  private void registerHealthCheck(HealthCheck check, String name,
-      ToDoubleFunction<HealthCheck> upMapper, ToDoubleFunction<HealthCheck> downMapper,
-      MeterRegistry registry, Instance<HealthResponseDataMapper<?>> dataMappers) {
-    registerHealthCheck(check, name, "UP", upMapper, registry);
-    registerHealthCheck(check, name, "DOWN", downMapper, registry);
-    registerCheckData(check, name, registry, dataMappers);
+  private CompletableFuture<Void> registerHealthCheck(HealthCheck check, Bean<?> bean) {
+    Set<String> groups = groupMembership.groupsOf(bean);
+    Optional<String> resolvedName = resolvedName(bean);
+    if (resolvedName.isPresent()) {
+      // the data keys are only known from a response, so the first evaluation is triggered in the
+      // background; its result is served to the first read of the metrics
+      warmUp(registerHealthCheck(check, bean, resolvedName.get(), groups));
+      return CompletableFuture.completedFuture(null);
+    }
+    // @formatter:off
+    return discoveryCall(check, groups).thenAccept(response -> onResponse(
+        registerHealthCheck(check, bean, response.getName(), groups),
+        response));
+    // @formatter:on
   }
 
-  private static void registerHealthCheck(HealthCheck check, String name, String status,
-      ToDoubleFunction<HealthCheck> mapper, MeterRegistry registry) {
+  // The adapter awaits at most the configured timeout of the check, if call() is ever invoked.
+  private AsyncHealthCheckAdapter asyncHealthCheckAdapter(AsyncHealthCheck check, Bean<?> bean) {
+    Set<String> groups = groupMembership.groupsOf(bean);
     // @formatter:off
-    Gauge.builder(Config.INDIVIDUAL_CHECK_NAME, check, mapper)
-        .tag(Config.TAG_CHECK, name)
-        .tag(Config.TAG_STATUS, status)
-        .strongReference(true)
-        .register(registry);
+    return new AsyncHealthCheckAdapter(check, resolvedName(bean)
+        .map(name -> timeoutFor(name, groups))
+        .orElseGet(() -> groupOrGlobalTimeout(groups)));
     // @formatter:on
   }
 
-  @CacheResult(cacheName = Config.CACHE_CHECK_NAME)
-  public HealthCheckResponse fetchHealthCheckData(@CacheKey HealthCheck check) {
-    return check.call();
+  // The check is called like every other evaluation: on the executor and bypassing the sharing
+  // with probes, or subscribed to if it is async. Since its name is not known yet, only the
+  // timeouts of its groups and the global timeout apply. A check that does not respond in time is
+  // not registered.
+  private CompletableFuture<HealthCheckResponse> discoveryCall(HealthCheck check,
+      Set<String> groups) {
+    // @formatter:off
+    CompletableFuture<HealthCheckResponse> call =
+        check instanceof AsyncHealthCheckAdapter asyncCheck
+            ? asyncCheck.callAsync().subscribeAsCompletionStage()
+            : CompletableFuture.supplyAsync(
+                () -> SharedHealthCheckResultInterceptor.ownCall(check::call),
+                executor);
+    return groupOrGlobalTimeout(groups)
+        .map(timeout -> call.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS))
+        .orElse(call);
+    // @formatter:on
   }
 
-  private int healthCheckToIntForUp(HealthCheck check) {
-    if (fetchHealthCheckData(check).getStatus() == HealthCheckResponse.Status.UP) {
-      return 1;
+  // The gauges read the registered check, which carries the id of the check's result slot, so
+  // that a read does not look the check up by its (proxy) instance.
+  private RegisteredCheck registerHealthCheck(HealthCheck check, Bean<?> bean, String name,
+      Set<String> groups) {
+    boolean withUnknown = timeouts.fallback() == HealthAsMetricsConfig.TimeoutFallback.UNKNOWN;
+    boolean acquired = seriesGuard.tryAcquireForCheck(name,
+        statusGauges.seriesCount(withUnknown) + transitions.seriesCount());
+    Tags tags = Tags.of(Config.TAG_CHECK, name);
+    HealthTransitions.Tracker tracker =
+        acquired ? transitions.register(Config.INDIVIDUAL_CHECK_NAME, tags)
+            : HealthTransitions.Tracker.NONE;
+    // @formatter:off
+    RegisteredCheck registeredCheck = new RegisteredCheck(
+        check,
+        caches.checks().allocate(),
+        name,
+        timeoutFor(name, groups),
+        refreshIntervalFor(name, groups),
+        tracker,
+        new AtomicReference<>(),
+        new AtomicReference<>(),
+        new HashMap<>());
+    // @formatter:on
+    registeredChecks.put(registeredCheck.slot(), registeredCheck);
+    registeredChecksByBean.put(bean, registeredCheck);
+    if (acquired) {
+      statusGauges.register(Config.INDIVIDUAL_CHECK_NAME, tags, registeredCheck,
+          this::healthCheckToIntForUp, this::healthCheckToIntForDown, withUnknown);
+    }
+    groupMembership.addCheck(registeredCheck.slot(), groups);
+    return registeredCheck;
+  }
+
+  private Optional<String> resolvedName(Bean<?> bean) {
+    if (bean instanceof InjectableBean<?> injectableBean
+        && injectableBean.getKind() == InjectableBean.Kind.CLASS) {
+      return Optional.ofNullable(namesByClassName.get(bean.getBeanClass().getName()));
+    }
+    return Optional.empty();
+  }
+
+  // In scheduled mode, the first run of the scheduler evaluates the check.
+  private void warmUp(RegisteredCheck registeredCheck) {
+    if (snapshots.scheduled()) {
+      return;
+    }
+    // @formatter:off
+    caches.checks()
+        .getAsync(
+            registeredCheck.slot(),
+            registeredCheck.refreshInterval().orElse(refresh.interval()),
+            () -> evaluate(registeredCheck))
+        .whenComplete((ignored, failure) -> {
+          if (Objects.nonNull(failure)) {
+            LOGGER.warn("Received exception during check execution", failure);
+          }
+        });
+    // @formatter:on
+  }
+
+  // Runs as a dependent of the check's call, so failures are logged here rather than left in a
+  // future nobody observes.
+  private void onResponse(RegisteredCheck registeredCheck, HealthCheckResponse response) {
+    registeredCheck.lastKnownResponse().set(response);
+    try {
+      reconcileCheckData(registeredCheck, response);
+    } catch (RuntimeException e) {
+      LOGGER.warnf(e, "Unable to reconcile the data metrics of check %s", registeredCheck.name());
+    }
+  }
+
+  private Optional<Duration> timeoutFor(String name, Set<String> groups) {
+    return Optional.ofNullable(timeouts.checks().get(name)).or(() -> groupOrGlobalTimeout(groups));
+  }
+
+  private Optional<Duration> groupOrGlobalTimeout(Set<String> groups) {
+    // @formatter:off
+    return groups.stream()
+        .map(timeouts.groups()::get)
+        .filter(Objects::nonNull)
+        .min(Comparator.naturalOrder())
+        .or(timeouts::global);
+    // @formatter:on
+  }
+
+  // In scheduled mode, checks without an explicit interval use the interval of the scheduler, so
+  // they are evaluated on every run unless a probe has called them since the previous run.
+  private Optional<Duration> refreshIntervalFor(String name, Set<String> groups) {
+    // @formatter:off
+    return Optional.ofNullable(refresh.checks().get(name))
+        .or(() -> groups.stream()
+            .map(refresh.groups()::get)
+            .filter(Objects::nonNull)
+            .min(Comparator.naturalOrder()));
+    // @formatter:on
+  }
+
+  private CheckResult fetchHealthCheckData(RegisteredCheck registeredCheck) {
+    // @formatter:off
+    return caches.checks().getOrRefreshAsync(
+        registeredCheck.slot(),
+        registeredCheck.refreshInterval().orElse(refresh.interval()),
+        () -> evaluate(registeredCheck),
+        CheckResult.UNKNOWN);
+    // @formatter:on
+  }
+
+  // All checks are evaluated concurrently. The scheduler waits for all of them. The results are
+  // indexed by the slots of the checks.
+  public List<CheckResult> evaluateHealthChecks() {
+    List<RegisteredCheck> checks = registeredChecks.values();
+    List<CompletableFuture<CheckResult>> evaluations =
+        checks.stream().map(this::evaluateHealthCheck).toList();
+    CheckResult[] results =
+        new CheckResult[checks.stream().mapToInt(RegisteredCheck::slot).max().orElse(-1) + 1];
+    Arrays.fill(results, CheckResult.UNKNOWN);
+    for (int i = 0; i < checks.size(); ++i) {
+      try {
+        results[checks.get(i).slot()] = evaluations.get(i).join();
+      } catch (CompletionException e) {
+        results[checks.get(i).slot()] = failed(checks.get(i), e);
+      }
+    }
+    return Arrays.asList(results);
+  }
+
+  private CompletableFuture<CheckResult> evaluateHealthCheck(RegisteredCheck registeredCheck) {
+    // @formatter:off
+    return caches.checks().getAsync(
+        registeredCheck.slot(),
+        registeredCheck.refreshInterval().orElse(evaluationInterval),
+        () -> evaluate(registeredCheck));
+    // @formatter:on
+  }
+
+  // Blocking checks are called on the executor, async checks are subscribed to. In both cases, the
+  // timeout completes the evaluation without a thread waiting for it. A check that fails is DOWN,
+  // like in the responses of the health endpoints.
+  private CompletionStage<CheckResult> evaluate(RegisteredCheck registeredCheck) {
+    CompletionStage<CheckResult> result;
+    if (registeredCheck.check() instanceof AsyncHealthCheckAdapter asyncCheck) {
+      result = callHealthCheckAsync(registeredCheck, asyncCheck).subscribeAsCompletionStage();
     } else {
-      return 0;
+      result = callHealthCheck(registeredCheck);
+    }
+    return result.exceptionally(failure -> failed(registeredCheck, failure));
+  }
+
+  private CheckResult failed(RegisteredCheck registeredCheck, Throwable failure) {
+    Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+    LOGGER.warnf(cause, "Check %s failed", registeredCheck.name());
+    CheckResult result = CheckResult.down(registeredCheck.name());
+    registeredCheck.transitions().observe(result.status());
+    return result;
+  }
+
+  // Called for calls of a check that do not originate from this extension, e.g. from
+  // SmallRyeHealthReporter answering a probe. The response is stored as the check's latest result,
+  // so that the metrics do not call the check again within its refresh interval. With
+  // probes.max-age, a recent enough result is returned without calling the check at all.
+  // A check with a timeout may still be running from an evaluation of the metrics that exceeded
+  // the timeout, so the probe joins that call instead of calling the check again.
+  public HealthCheckResponse sharedCall(Bean<?> bean, Supplier<HealthCheckResponse> call) {
+    RegisteredCheck registeredCheck = registeredChecksByBean.get(bean);
+    if (Objects.isNull(registeredCheck)) {
+      return call.get();
     }
+    if (probeMaxAge.isPresent()) {
+      // @formatter:off
+      HealthCheckResponse recent = caches.checks()
+          .getIfFresh(registeredCheck.slot(), probeMaxAge.get())
+          .map(CheckResult::response)
+          .orElse(null);
+      // @formatter:on
+      if (Objects.nonNull(recent)) {
+        return recent;
+      }
+    }
+    if (registeredCheck.timeout().isPresent()) {
+      return joinedSharedCall(registeredCheck);
+    }
+    HealthCheckResponse response = timers.recordCheck(registeredCheck.name(), call);
+    caches.checks().put(registeredCheck.slot(), CheckResult.of(response));
+    registeredCheck.transitions().observe(HealthStatus.of(response));
+    onResponse(registeredCheck, response);
+    return response;
   }
 
-  private int healthCheckToIntForDown(HealthCheck check) {
-    if (fetchHealthCheckData(check).getStatus() == HealthCheckResponse.Status.DOWN) {
+  // The timeout of the metrics does not apply to the probe: like without sharing, the probe waits
+  // for the response of the check, and a failure of the check is answered by SmallRye.
+  private HealthCheckResponse joinedSharedCall(RegisteredCheck registeredCheck) {
+    HealthCheckResponse response;
+    try {
+      response = startOrJoinCall(registeredCheck).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
+    caches.checks().put(registeredCheck.slot(), CheckResult.of(response));
+    registeredCheck.transitions().observe(HealthStatus.of(response));
+    return response;
+  }
+
+  private CompletableFuture<CheckResult> callHealthCheck(RegisteredCheck registeredCheck) {
+    CompletableFuture<CheckResult> result =
+        startOrJoinCall(registeredCheck).thenApply(CheckResult::of);
+    if (registeredCheck.timeout().isPresent()) {
+      Duration timeout = registeredCheck.timeout().get();
+      // @formatter:off
+      result = result
+          .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+          .exceptionally(failure -> fallbackOnTimeout(registeredCheck, timeout, failure));
+      // @formatter:on
+    }
+    return result.thenApply(checkResult -> {
+      registeredCheck.transitions().observe(checkResult.status());
+      return checkResult;
+    });
+  }
+
+  private CheckResult fallbackOnTimeout(RegisteredCheck registeredCheck, Duration timeout,
+      Throwable failure) {
+    Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+    if (!(cause instanceof TimeoutException)) {
+      throw failure instanceof CompletionException completionException ? completionException
+          : new CompletionException(cause);
+    }
+    LOGGER.warnf("Check %s did not respond within %s", registeredCheck.name(), timeout);
+    return fallback(registeredCheck);
+  }
+
+  // Async checks are subscribed to on the calling thread and complete wherever their Uni emits,
+  // e.g. on the event loop, so no thread waits for them. Unlike blocking checks, an async check
+  // that exceeds its timeout is cancelled.
+  private Uni<CheckResult> callHealthCheckAsync(RegisteredCheck registeredCheck,
+      AsyncHealthCheckAdapter check) {
+    String name = registeredCheck.name();
+    // @formatter:off
+    Uni<CheckResult> result = Uni.createFrom().deferred(() -> {
+          long start = System.nanoTime();
+          return check.callAsync()
+              .invoke(() -> timers.recordCheck(name, System.nanoTime() - start));
+        })
+        .invoke(response -> onResponse(registeredCheck, response))
+        .map(CheckResult::of);
+    if (registeredCheck.timeout().isPresent()) {
+      Duration timeout = registeredCheck.timeout().get();
+      result = result
+          .ifNoItem().after(timeout).recoverWithItem(() -> {
+            LOGGER.warnf("Check %s did not respond within %s", name, timeout);
+            return fallback(registeredCheck);
+          });
+    }
+    return result.invoke(checkResult -> registeredCheck.transitions()
+        .observe(checkResult.status()));
+    // @formatter:on
+  }
+
+  // The check is called directly by the executor task. A check that timed out is not cancelled;
+  // when it finishes, it still updates the last known response. Until then, further evaluations
+  // wait for the running call instead of starting another one, so that a hanging dependency is not
+  // called again on every refresh.
+  private CompletableFuture<HealthCheckResponse> startOrJoinCall(RegisteredCheck registeredCheck) {
+    AtomicReference<CompletableFuture<HealthCheckResponse>> pending = registeredCheck.pendingCall();
+    CompletableFuture<HealthCheckResponse> running = pending.get();
+    if (Objects.nonNull(running) && !running.isDone()) {
+      return running;
+    }
+    CompletableFuture<HealthCheckResponse> call = new CompletableFuture<>();
+    if (!pending.compareAndSet(running, call)) {
+      return startOrJoinCall(registeredCheck);
+    }
+    try {
+      executor.execute(() -> {
+        try {
+          call.complete(timedCall(registeredCheck.check(), registeredCheck.name()));
+        } catch (RuntimeException e) {
+          call.completeExceptionally(e);
+        }
+      });
+    } catch (RuntimeException e) {
+      call.completeExceptionally(e);
+    }
+    call.thenAccept(response -> onResponse(registeredCheck, response));
+    return call;
+  }
+
+  // The call itself is timed, not the wait for it, so that a check that exceeds its timeout still
+  // records its actual duration.
+  private HealthCheckResponse timedCall(HealthCheck check, String name) {
+    return timers.recordCheck(name, () -> SharedHealthCheckResultInterceptor.ownCall(check::call));
+  }
+
+  private CheckResult fallback(RegisteredCheck registeredCheck) {
+    String name = registeredCheck.name();
+    // @formatter:off
+    return switch (timeouts.fallback()) {
+      case DOWN -> CheckResult.down(name);
+      case LAST_KNOWN -> Optional.ofNullable(registeredCheck.lastKnownResponse().get())
+          .map(CheckResult::of)
+          .orElseGet(() -> CheckResult.down(name));
+      case UNKNOWN -> CheckResult.UNKNOWN;
+    };
+    // @formatter:on
+  }
+
+  public CheckResult healthCheckData(int slot) {
+    RegisteredCheck registeredCheck = registeredChecks.get(slot);
+    if (Objects.isNull(registeredCheck)) {
+      return CheckResult.UNKNOWN;
+    }
+    return healthCheckData(registeredCheck);
+  }
+
+  private CheckResult healthCheckData(RegisteredCheck registeredCheck) {
+    if (snapshots.scheduled()) {
+      return snapshots.current().check(registeredCheck.slot());
+    }
+    return fetchHealthCheckData(registeredCheck);
+  }
+
+  private int healthCheckToIntForUp(RegisteredCheck registeredCheck) {
+    return healthCheckToInt(registeredCheck, HealthStatus.UP);
+  }
+
+  private int healthCheckToIntForDown(RegisteredCheck registeredCheck) {
+    return healthCheckToInt(registeredCheck, HealthStatus.DOWN);
+  }
+
+  private int healthCheckToInt(RegisteredCheck registeredCheck, HealthStatus status) {
+    if (healthCheckData(registeredCheck).status() == status) {
       return 1;
     } else {
       return 0;
     }
   }
 
-  private void registerCheckData(HealthCheck check, String name, MeterRegistry registry,
-      Instance<HealthResponseDataMapper<?>> dataMappers) {
-    Map<String, Object> checkData = fetchHealthCheckData(check).getData().orElse(Map.of());
-    Map<String, Boolean> isUnmapped = new HashMap<>();
-    for (HealthResponseDataMapper<?> dataMapper : dataMappers) {
-      // @formatter:off
-      checkData.entrySet().stream()
-          .filter(entry -> isUnmapped.getOrDefault(entry.getKey(), true))
-          .filter(entry -> dataMapper.keyFilterPattern().matcher(entry.getKey()).matches())
-          .filter(entry -> dataMapper.mappableType().isInstance(entry.getValue()))
-          .filter(entry -> dataMapper.valueMappable(entry.getValue()))
-
-          // We know that isUnmapped.get(entry.getKey()) is null, thus
-          // isUnmapped.put(entry.getKey(), false) will return null
-          // We use this trick to avoid calling ".peek(...)" on the stream.
-          .filter(entry -> Objects.isNull(isUnmapped.put(entry.getKey(), false)))
-
-          .map(entry -> createGaugeBuildersForCheck(name, entry.getKey(), check, dataMapper))
-          .flatMap(Collection::stream)
-          .forEach(builder -> builder.register(registry));
-      // @formatter:on
+  // Registers meters for data keys that appeared since the last response, and removes the meters
+  // of keys that have been missing for longer than the grace period. New keys are reserved and
+  // missing keys released under the lock, but their meters are registered and removed outside of
+  // it, so that concurrent responses of the check do not wait for the meter registry.
+  private void reconcileCheckData(RegisteredCheck registeredCheck, HealthCheckResponse response) {
+    Map<String, Object> checkData = response.getData().orElse(Map.of());
+    Map<String, RegisteredDataKey> keys = registeredCheck.dataKeys();
+    long now = System.nanoTime();
+    List<String> added = new ArrayList<>();
+    Map<String, RegisteredDataKey> seen = new HashMap<>();
+    List<RegisteredDataKey> removed = new ArrayList<>();
+    synchronized (keys) {
+      checkData.keySet().forEach(key -> {
+        RegisteredDataKey known = keys.get(key);
+        if (Objects.isNull(known)) {
+          keys.put(key, RegisteredDataKey.reserved(now));
+          added.add(key);
+        } else {
+          keys.put(key, known.seenAt(now));
+          seen.put(key, known);
+        }
+      });
+      keys.entrySet().removeIf(entry -> {
+        RegisteredDataKey dataKey = entry.getValue();
+        if (checkData.containsKey(entry.getKey())
+            || now - dataKey.lastSeenNanos() <= dataRemovalGracePeriod.toNanos()) {
+          return false;
+        }
+        removed.add(dataKey);
+        return true;
+      });
+    }
+    seen.forEach((key, known) -> known.transitions().observe(dataStatus(known, key, response)));
+    for (String key : added) {
+      RegisteredDataKey registered = registerDataKey(registeredCheck, key, checkData.get(key), now);
+      registered.transitions().observe(dataStatus(registered, key, response));
+      if (!replaceReservation(keys, key, registered)) {
+        unregisterDataKey(registeredCheck.name(), registered);
+      }
+    }
+    removed.forEach(dataKey -> unregisterDataKey(registeredCheck.name(), dataKey));
+  }
+
+  // fails if the reservation has been released in the meantime
+  private static boolean replaceReservation(Map<String, RegisteredDataKey> keys, String key,
+      RegisteredDataKey registered) {
+    synchronized (keys) {
+      RegisteredDataKey reservation = keys.get(key);
+      if (Objects.isNull(reservation) || !reservation.reserved()) {
+        return false;
+      }
+      keys.put(key, registered.seenAt(reservation.lastSeenNanos()));
+      return true;
     }
   }
 
-  private static List<Gauge.Builder<HealthCheck>> createGaugeBuildersForCheck(String checkName,
-      String dataName, HealthCheck check, HealthResponseDataMapper<?> mapper) {
-    String checkDataName = "%s-%s".formatted(checkName, dataName);
-    return List.of(
-        createGaugeMapperForCheck(checkDataName, check, "UP", mapper.checkUpMapper(dataName)),
-        createGaugeMapperForCheck(checkDataName, check, "DOWN", mapper.checkDownMapper(dataName)));
+  private void unregisterDataKey(String name, RegisteredDataKey dataKey) {
+    dataKey.meters().forEach(registry::remove);
+    dataKey.mapper().ifPresent(
+        mapper -> seriesGuard.releaseForData(name, mapper.name(), dataKey.meters().size()));
+    dataKey.valueMeter().ifPresent(registry::remove);
+    dataKey.valueMapper().ifPresent(mapper -> seriesGuard.releaseForData(name, mapper.name(), 1));
   }
 
-  private static Gauge.Builder<HealthCheck> createGaugeMapperForCheck(String checkName,
-      HealthCheck check, String status, ToDoubleFunction<HealthCheck> mapper) {
+  // A key is mapped by at most one status mapper and, independently, by at most one value mapper.
+  private RegisteredDataKey registerDataKey(RegisteredCheck registeredCheck, String key,
+      Object value, long now) {
+    String name = registeredCheck.name();
+    RegisteredDataKey dataKey = registerStatusDataKey(registeredCheck, key, value, now);
     // @formatter:off
-    return Gauge.builder(Config.INDIVIDUAL_CHECK_NAME, check, mapper)
-        .tag(Config.TAG_CHECK, checkName)
-        .tag(Config.TAG_STATUS, status)
-        .strongReference(true);
+    return dataMappers.resolveValue(key, value)
+        .filter(named -> seriesGuard.tryAcquireForData(name, named.name(), key, 1))
+        .map(named -> dataKey.withValue(
+            named,
+            registerValueGauge(registeredCheck, key, named.mapper())))
+        .orElse(dataKey);
     // @formatter:on
   }
+
+  // Keys without a matching mapper, or rejected by the series guard, are remembered without
+  // meters, so that they are not re-evaluated on every response.
+  private RegisteredDataKey registerStatusDataKey(RegisteredCheck registeredCheck, String key,
+      Object value, long now) {
+    // @formatter:off
+    return dataMappers.resolve(key, value)
+        .filter(named -> seriesGuard.tryAcquireForData(
+            registeredCheck.name(),
+            named.name(),
+            key,
+            statusGauges.seriesCount(false) + transitions.seriesCount()))
+        .map(named -> registerMappedDataKey(registeredCheck, key, named, now))
+        .orElseGet(() -> new RegisteredDataKey(
+            Optional.empty(),
+            List.of(),
+            HealthTransitions.Tracker.NONE,
+            Optional.empty(),
+            Optional.empty(),
+            now,
+            false));
+    // @formatter:on
+  }
+
+  // The transition meters are kept with the status gauges of the key, so that they are removed
+  // and released together.
+  private RegisteredDataKey registerMappedDataKey(RegisteredCheck registeredCheck, String dataName,
+      NamedDataMapper mapper, long now) {
+    String checkDataName = "%s-%s".formatted(registeredCheck.name(), dataName);
+    // @formatter:off
+    List<Meter> meters = new ArrayList<>(registerDataGauges(
+        checkDataName,
+        dataName,
+        registeredCheck,
+        mapper.mapper()));
+    // @formatter:on
+    HealthTransitions.Tracker tracker = transitions.register(Config.INDIVIDUAL_CHECK_NAME,
+        Tags.of(Config.TAG_CHECK, checkDataName));
+    meters.addAll(tracker.meters());
+    return new RegisteredDataKey(Optional.of(mapper), List.copyOf(meters), tracker,
+        Optional.empty(), Optional.empty(), now, false);
+  }
+
+  private static HealthStatus dataStatus(RegisteredDataKey dataKey, String dataName,
+      HealthCheckResponse response) {
+    // @formatter:off
+    return dataKey.mapper()
+        .map(NamedDataMapper::mapper)
+        .map(mapper -> {
+          if (mapper.checkUpMapper(dataName).applyAsDouble(response) > 0) {
+            return HealthStatus.UP;
+          }
+          if (mapper.checkDownMapper(dataName).applyAsDouble(response) > 0) {
+            return HealthStatus.DOWN;
+          }
+          return HealthStatus.UNKNOWN;
+        })
+        .orElse(HealthStatus.UNKNOWN);
+    // @formatter:on
+  }
+
+  private List<Meter> registerDataGauges(String checkDataName, String dataName,
+      RegisteredCheck registeredCheck, HealthResponseDataMapper<?> mapper) {
+    // @formatter:off
+    return statusGauges.register(
+        Config.INDIVIDUAL_CHECK_NAME,
+        Tags.of(Config.TAG_CHECK, checkDataName),
+        registeredCheck,
+        fromHealthCheckData(mapper.checkUpMapper(dataName)),
+        fromHealthCheckData(mapper.checkDownMapper(dataName)),
+        false);
+    // @formatter:on
+  }
+
+  private Meter registerValueGauge(RegisteredCheck registeredCheck, String dataName,
+      HealthResponseValueMapper mapper) {
+    // @formatter:off
+    return Gauge.builder(
+            VALUE_NAME,
+            registeredCheck,
+            fromHealthCheckData(mapper.valueMapper(dataName)))
+        .tags(Tags.of(Config.TAG_CHECK, "%s-%s".formatted(registeredCheck.name(), dataName)))
+        .strongReference(true)
+        .register(registry);
+    // @formatter:on
+  }
+
+  private ToDoubleFunction<RegisteredCheck> fromHealthCheckData(
+      ToDoubleFunction<HealthCheckResponse> mapper) {
+    return registeredCheck -> mapper.applyAsDouble(healthCheckData(registeredCheck).response());
+  }
+
+  // slot is the id of the check's entry in HealthResultCaches#checks(); pendingCall is the latest
+  // call of a check with a timeout; dataKeys is guarded by its own lock
+  private record RegisteredCheck(HealthCheck check, int slot, String name,
+      Optional<Duration> timeout, Optional<Duration> refreshInterval,
+      HealthTransitions.Tracker transitions,
+      AtomicReference<CompletableFuture<HealthCheckResponse>> pendingCall,
+      AtomicReference<HealthCheckResponse> lastKnownResponse,
+      Map<String, RegisteredDataKey> dataKeys) {
+  }
+
+  // reserved marks a key whose meters are being registered
+  private record RegisteredDataKey(Optional<NamedDataMapper> mapper, List<Meter> meters,
+      HealthTransitions.Tracker transitions, Optional<NamedValueMapper> valueMapper,
+      Optional<Meter> valueMeter, long lastSeenNanos, boolean reserved) {
+    static RegisteredDataKey reserved(long now) {
+      return new RegisteredDataKey(Optional.empty(), List.of(), HealthTransitions.Tracker.NONE,
+          Optional.empty(), Optional.empty(), now, true);
+    }
+
+    RegisteredDataKey seenAt(long now) {
+      return new RegisteredDataKey(mapper, meters, transitions, valueMapper, valueMeter, now,
+          reserved);
+    }
+
+    RegisteredDataKey withValue(NamedValueMapper valueMapper, Meter valueMeter) {
+      return new RegisteredDataKey(mapper, meters, transitions, Optional.of(valueMapper),
+          Optional.of(valueMeter), lastSeenNanos, reserved);
+    }
+  }
 }
@@ -0,0 +1,15 @@
+package de.turing85.quarkus.health.as.metrics.runtime.checks;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.interceptor.InterceptorBinding;
+
+// Added at build time to the HealthCheck beans whose results are shared with the health endpoints
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface SharedHealthCheckResult {
+}
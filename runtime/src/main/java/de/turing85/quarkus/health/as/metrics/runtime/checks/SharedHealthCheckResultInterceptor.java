@@ -0,0 +1,63 @@
+package de.turing85.quarkus.health.as.metrics.runtime.checks;
+
+import java.util.function.Supplier;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.inject.Intercepted;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+// Intercepts calls of a check that do not originate from this extension, e.g. from
+// SmallRyeHealthReporter answering /q/health/live, and hands them to the checks registrar, which
+// shares the response with the metrics.
+@SharedHealthCheckResult
+@Interceptor
+@Priority(Interceptor.Priority.LIBRARY_AFTER)
+public class SharedHealthCheckResultInterceptor {
+  private static final String CALL_METHOD_NAME = "call";
+  private static final ThreadLocal<Boolean> OWN_CALL = ThreadLocal.withInitial(() -> false);
+
+  private final Bean<?> bean;
+  private final HealthChecksMetricsRegistrar checksRegistrar;
+
+  SharedHealthCheckResultInterceptor(@Intercepted Bean<?> bean,
+      HealthChecksMetricsRegistrar checksRegistrar) {
+    this.bean = bean;
+    this.checksRegistrar = checksRegistrar;
+  }
+
+  // marks calls made by the extension itself, so that they are not intercepted
+  static <T> T ownCall(Supplier<T> call) {
+    boolean outer = OWN_CALL.get();
+    OWN_CALL.set(true);
+    try {
+      return call.get();
+    } finally {
+      if (!outer) {
+        OWN_CALL.remove();
+      }
+    }
+  }
+
+  @AroundInvoke
+  Object share(InvocationContext context) throws Exception {
+    if (OWN_CALL.get() || !CALL_METHOD_NAME.equals(context.getMethod().getName())) {
+      return context.proceed();
+    }
+    return checksRegistrar.sharedCall(bean, () -> proceed(context));
+  }
+
+  private static HealthCheckResponse proceed(InvocationContext context) {
+    try {
+      return (HealthCheckResponse) context.proceed();
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package de.turing85.quarkus.health.as.metrics.runtime.datamappers;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import de.turing85.quarkus.health.as.metrics.runtime.HealthAsMetricsBuildTimeConfig.MapperType;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+// Creates the data mappers declared in configuration. If only up values are configured, every
+// other value of the mapper's type is DOWN, and vice versa.
+public final class ConfiguredMappers {
+  private ConfiguredMappers() {
+    throw new UnsupportedOperationException("this class cannot be instantiated");
+  }
+
+  public static HealthResponseDataMapper<?> create(MapperType type, String keyFilter,
+      List<String> upValues, List<String> downValues) {
+    if (upValues.isEmpty() && downValues.isEmpty()) {
+      throw new IllegalArgumentException("at least one up or down value must be configured");
+    }
+    return switch (type) {
+      case BOOLEAN ->
+        mapper(Boolean.class, keyFilter, toSet(upValues, ConfiguredMappers::parseBoolean),
+            toSet(downValues, ConfiguredMappers::parseBoolean));
+      case LONG -> longMapper(keyFilter, toLongs(upValues), toLongs(downValues));
+      case DOUBLE -> mapper(Double.class, keyFilter, toSet(upValues, Double::valueOf),
+          toSet(downValues, Double::valueOf));
+      case STRING -> mapper(String.class, keyFilter, toCaseInsensitiveSet(upValues),
+          toCaseInsensitiveSet(downValues));
+      case STATUS -> mapper(HealthCheckResponse.Status.class, keyFilter,
+          toSet(upValues, ConfiguredMappers::parseStatus),
+          toSet(downValues, ConfiguredMappers::parseStatus));
+    };
+  }
+
+  public static HealthResponseValueMapper createValueMapper(MapperType type, String keyFilter) {
+    if (type != MapperType.LONG && type != MapperType.DOUBLE) {
+      throw new IllegalArgumentException(
+          "numeric mode is only supported for types long and double, but was %s"
+              .formatted(type.name().toLowerCase(Locale.ROOT)));
+    }
+    return HealthResponseValueMapper.numberMapper(keyFilter);
+  }
+
+  private static <T> HealthResponseDataMapper<T> mapper(Class<T> type, String keyFilter,
+      Set<T> upValues, Set<T> downValues) {
+    requireDisjoint(upValues, downValues);
+    // @formatter:off
+    return HealthResponseDataMapper.<T>builder()
+        .mappableType(type)
+        .keyFilter(keyFilter)
+        .upPredicate(matcher(upValues, downValues))
+        .downPredicate(matcher(downValues, upValues))
+        .build();
+    // @formatter:on
+  }
+
+  // The values are compared after parsing, so that e.g. 1 and 1.0 of a double mapper overlap.
+  private static <T> void requireDisjoint(Set<T> upValues, Set<T> downValues) {
+    List<T> overlap = upValues.stream().filter(downValues::contains).toList();
+    if (!overlap.isEmpty()) {
+      throw new IllegalArgumentException(
+          "values %s are configured as both up and down values".formatted(overlap));
+    }
+  }
+
+  private static <T> Predicate<T> matcher(Set<T> values, Set<T> otherValues) {
+    if (values.isEmpty()) {
+      return value -> !otherValues.contains(value);
+    }
+    return values::contains;
+  }
+
+  // the values are kept sorted, so that they can be looked up without boxing
+  private static HealthResponseDataMapper<Long> longMapper(String keyFilter, long[] upValues,
+      long[] downValues) {
+    requireDisjoint(Arrays.stream(upValues).boxed().collect(Collectors.toSet()),
+        Arrays.stream(downValues).boxed().collect(Collectors.toSet()));
+    return HealthResponseDataMapper.longMapper(keyFilter, longMatcher(upValues, downValues),
+        longMatcher(downValues, upValues));
+  }
+
+  private static LongPredicate longMatcher(long[] values, long[] otherValues) {
+    if (values.length == 0) {
+      return value -> Arrays.binarySearch(otherValues, value) < 0;
+    }
+    return value -> Arrays.binarySearch(values, value) >= 0;
+  }
+
+  private static <T> Set<T> toSet(Collection<String> values, Function<String, T> parser) {
+    return values.stream().map(String::trim).map(parser).collect(Collectors.toUnmodifiableSet());
+  }
+
+  private static Set<String> toCaseInsensitiveSet(Collection<String> values) {
+    Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    values.stream().map(String::trim).forEach(set::add);
+    return set;
+  }
+
+  private static long[] toLongs(Collection<String> values) {
+    return values.stream().map(String::trim).mapToLong(Long::parseLong).sorted().toArray();
+  }
+
+  private static Boolean parseBoolean(String value) {
+    if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+      throw new IllegalArgumentException("%s is not a boolean".formatted(value));
+    }
+    return Boolean.valueOf(value);
+  }
+
+  private static HealthCheckResponse.Status parseStatus(String value) {
+    return HealthCheckResponse.Status.valueOf(value.toUpperCase(Locale.ROOT));
+  }
+}
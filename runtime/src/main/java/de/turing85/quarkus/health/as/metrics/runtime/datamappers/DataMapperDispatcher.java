@@ -0,0 +1,127 @@
+package de.turing85.quarkus.health.as.metrics.runtime.datamappers;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Singleton;
+
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+// Resolves the status and value mappers of data keys and registry checks. The status mappers are
+// grouped by the type of the value they map once per type, and key filters that match everything
+// or a literal key are evaluated without a regular expression. The first matching mapper, in bean
+// order, wins.
+@Singleton
+public class DataMapperDispatcher {
+  private static final String MATCH_ALL = ".*";
+  private static final Pattern REGEX_META_CHARACTERS = Pattern.compile("[\\\\^$.|?*+()\\[\\]{}]");
+
+  private final List<KeyFilteredMapper> mappers;
+  private final List<KeyFilteredMapper> statusMappers;
+  private final ClassValue<List<KeyFilteredMapper>> mappersByType;
+  private final List<KeyFilteredValueMapper> valueMappers;
+
+  DataMapperDispatcher(@Any Instance<HealthResponseDataMapper<?>> dataMappers,
+      @Any Instance<HealthResponseValueMapper> valueMappers) {
+    // @formatter:off
+    this.mappers = NamedDataMapper.of(dataMappers).stream()
+        .map(KeyFilteredMapper::of)
+        .toList();
+    this.statusMappers = mappers.stream()
+        .filter(filtered -> filtered.named().mapper().mappableType()
+            .equals(HealthCheckResponse.Status.class))
+        .toList();
+    this.valueMappers = NamedValueMapper.of(valueMappers).stream()
+        .map(KeyFilteredValueMapper::of)
+        .toList();
+    // @formatter:on
+    this.mappersByType = new ClassValue<>() {
+      @Override
+      protected List<KeyFilteredMapper> computeValue(Class<?> type) {
+        // @formatter:off
+        return mappers.stream()
+            .filter(filtered -> filtered.named().mapper().mappableType().isAssignableFrom(type))
+            .toList();
+        // @formatter:on
+      }
+    };
+  }
+
+  public Optional<NamedDataMapper> resolve(String key, Object value) {
+    if (Objects.isNull(value)) {
+      return Optional.empty();
+    }
+    // @formatter:off
+    return mappersByType.get(value.getClass()).stream()
+        .filter(filtered -> filtered.keyFilter().test(key))
+        .map(KeyFilteredMapper::named)
+        .filter(named -> named.mapper().valueMappable(value))
+        .findFirst();
+    // @formatter:on
+  }
+
+  public Optional<NamedValueMapper> resolveValue(String key, Object value) {
+    // @formatter:off
+    return valueMappers.stream()
+        .filter(filtered -> filtered.keyFilter().test(key))
+        .map(KeyFilteredValueMapper::named)
+        .filter(named -> named.mapper().valueMappable(value))
+        .findFirst();
+    // @formatter:on
+  }
+
+  public Optional<NamedDataMapper> resolveStatus(String checkName) {
+    // @formatter:off
+    return statusMappers.stream()
+        .filter(filtered -> filtered.keyFilter().test(checkName))
+        .map(KeyFilteredMapper::named)
+        .findFirst();
+    // @formatter:on
+  }
+
+  private record KeyFilteredMapper(NamedDataMapper named, Predicate<String> keyFilter) {
+    static KeyFilteredMapper of(NamedDataMapper named) {
+      return new KeyFilteredMapper(named, keyFilterOf(named.mapper().keyFilterPattern()));
+    }
+  }
+
+  private record KeyFilteredValueMapper(NamedValueMapper named, Predicate<String> keyFilter) {
+    static KeyFilteredValueMapper of(NamedValueMapper named) {
+      return new KeyFilteredValueMapper(named, keyFilterOf(named.mapper().keyFilterPattern()));
+    }
+  }
+
+  // patterns with flags are always evaluated as regular expression, since flags may change the
+  // meaning of a literal (e.g. CASE_INSENSITIVE) or of .* (e.g. DOTALL)
+  static Predicate<String> keyFilterOf(Pattern pattern) {
+    if (pattern.flags() != 0) {
+      return key -> pattern.matcher(key).matches();
+    }
+    if (MATCH_ALL.equals(pattern.pattern())) {
+      return DataMapperDispatcher::hasNoLineTerminator;
+    }
+    if (!REGEX_META_CHARACTERS.matcher(pattern.pattern()).find()) {
+      return pattern.pattern()::equals;
+    }
+    return key -> pattern.matcher(key).matches();
+  }
+
+  // without DOTALL, . does not match line terminators
+  private static boolean hasNoLineTerminator(String key) {
+    for (int i = 0; i < key.length(); ++i) {
+      switch (key.charAt(i)) {
+        case '\n', '\r', '\u0085', '\u2028', '\u2029' -> {
+          return false;
+        }
+        default -> {
+        }
+      }
+    }
+    return true;
+  }
+}
@@ -1,23 +1,16 @@
 package de.turing85.quarkus.health.as.metrics.runtime.datamappers;
 
+import java.util.List;
 import java.util.function.Supplier;
 
+import de.turing85.quarkus.health.as.metrics.runtime.HealthAsMetricsBuildTimeConfig;
 import io.quarkus.runtime.annotations.Recorder;
 import org.eclipse.microprofile.health.HealthCheckResponse;
 
-import static java.util.function.Predicate.not;
-
 @Recorder
 public class DefaultMappersRecorder {
   public Supplier<HealthResponseDataMapper<Boolean>> booleanMapper() {
-    // @formatter:off
-    return () -> HealthResponseDataMapper.<Boolean>builder()
-        .mappableType(Boolean.class)
-        .keyFilter(".*")
-        .upPredicate(Boolean.TRUE::equals)
-        .downPredicate(Boolean.FALSE::equals)
-        .build();
-    // @formatter:on
+    return () -> HealthResponseDataMapper.booleanMapper(".*");
   }
 
   public Supplier<HealthResponseDataMapper<String>> upDownMapper() {
@@ -44,23 +37,40 @@ public class DefaultMappersRecorder {
 
   public Supplier<HealthResponseDataMapper<Long>> longMapper() {
     // @formatter:off
-    return () -> HealthResponseDataMapper.<Long>builder()
-        .mappableType(Long.class)
-        .keyFilter(".*")
-        .upPredicate(not(Long.valueOf(0)::equals))
-        .downPredicate(Long.valueOf(0)::equals)
-        .build();
+    return () -> HealthResponseDataMapper.longMapper(
+        ".*",
+        value -> value != 0,
+        value -> value == 0);
     // @formatter:on
   }
 
   public Supplier<HealthResponseDataMapper<HealthCheckResponse.Status>> statusMapper() {
     // @formatter:off
-    return () -> HealthResponseDataMapper.<HealthCheckResponse.Status>builder()
-        .mappableType(HealthCheckResponse.Status.class)
-        .keyFilter(".*")
-        .upPredicate(HealthCheckResponse.Status.UP::equals)
-        .downPredicate(HealthCheckResponse.Status.DOWN::equals)
-        .build();
+    return () -> HealthResponseDataMapper.enumMapper(
+        HealthCheckResponse.Status.class,
+        ".*",
+        HealthCheckResponse.Status.UP,
+        HealthCheckResponse.Status.DOWN);
     // @formatter:on
   }
+
+  public Supplier<HealthResponseValueMapper> numberValueMapper(String keyFilter) {
+    return () -> HealthResponseValueMapper.numberMapper(keyFilter);
+  }
+
+  // Configured mappers are created when the recorded bytecode runs at static init, so that their
+  // key filters are compiled once (at image build time for native images), not on bean creation.
+  public Supplier<HealthResponseDataMapper<?>> configuredMapper(
+      HealthAsMetricsBuildTimeConfig.MapperType type, String keyFilter, List<String> upValues,
+      List<String> downValues) {
+    HealthResponseDataMapper<?> mapper =
+        ConfiguredMappers.create(type, keyFilter, upValues, downValues);
+    return () -> mapper;
+  }
+
+  public Supplier<HealthResponseValueMapper> configuredValueMapper(
+      HealthAsMetricsBuildTimeConfig.MapperType type, String keyFilter) {
+    HealthResponseValueMapper mapper = ConfiguredMappers.createValueMapper(type, keyFilter);
+    return () -> mapper;
+  }
 }
@@ -1,30 +1,25 @@
 package de.turing85.quarkus.health.as.metrics.runtime.datamappers;
 
-import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.function.LongPredicate;
 import java.util.function.Predicate;
 import java.util.function.ToDoubleFunction;
 import java.util.regex.Pattern;
 
-import io.smallrye.health.registry.HealthRegistryImpl;
-import io.smallrye.mutiny.Uni;
-import org.eclipse.microprofile.health.HealthCheck;
 import org.eclipse.microprofile.health.HealthCheckResponse;
 
 public interface HealthResponseDataMapper<T> {
   Class<T> mappableType();
 
-  ToDoubleFunction<HealthCheck> checkUpMapper(String key);
+  ToDoubleFunction<HealthCheckResponse> checkUpMapper(String key);
 
-  ToDoubleFunction<HealthRegistryImpl> registryUpMapper();
+  ToDoubleFunction<HealthCheckResponse> registryUpMapper();
 
-  ToDoubleFunction<HealthCheck> checkDownMapper(String key);
+  ToDoubleFunction<HealthCheckResponse> checkDownMapper(String key);
 
-  ToDoubleFunction<HealthRegistryImpl> registryDownMapper();
+  ToDoubleFunction<HealthCheckResponse> registryDownMapper();
 
   Pattern keyFilterPattern();
 
@@ -34,113 +29,91 @@ public interface HealthResponseDataMapper<T> {
     return new Impl.Builder<>();
   }
 
+  static HealthResponseDataMapper<Boolean> booleanMapper(String keyFilter) {
+    return new Impl<>(Boolean.class, value -> (Boolean) value, value -> !(Boolean) value,
+        keyFilter);
+  }
+
+  static HealthResponseDataMapper<Long> longMapper(String keyFilter, LongPredicate upPredicate,
+      LongPredicate downPredicate) {
+    Objects.requireNonNull(upPredicate);
+    Objects.requireNonNull(downPredicate);
+    return new Impl<>(Long.class, value -> upPredicate.test((Long) value),
+        value -> downPredicate.test((Long) value), keyFilter);
+  }
+
+  static <E extends Enum<E>> HealthResponseDataMapper<E> enumMapper(Class<E> mappableType,
+      String keyFilter, E up, E down) {
+    return new Impl<>(mappableType, value -> value == up, value -> value == down, keyFilter);
+  }
+
+  // The mappers are evaluated on every read of a gauge. They neither box their result nor wrap the
+  // value in an Optional, so that reading a gauge does not allocate.
   class Impl<T> implements HealthResponseDataMapper<T> {
+    private static final double MATCH = 1.0;
+    private static final double NO_MATCH = 0.0;
+
     private final Class<T> mappableType;
 
-    private final Predicate<T> upPredicate;
+    private final ValueTest upTest;
 
-    private final Predicate<T> downPredicate;
+    private final ValueTest downTest;
 
     private final Pattern keyFilterPattern;
 
-    private final Predicate<T> valueMappablePredicate;
-
     // @formatter: off
-    private Impl(Class<T> mappableType, Predicate<T> upPredicate, Predicate<T> downPredicate,
-        String keyFilter) {
+    private Impl(Class<T> mappableType, ValueTest upTest, ValueTest downTest, String keyFilter) {
       this.mappableType = Optional.ofNullable(mappableType).orElseThrow();
-      this.upPredicate = Optional.ofNullable(upPredicate).orElseThrow();
-      this.downPredicate = Optional.ofNullable(downPredicate).orElseThrow();
+      this.upTest = Optional.ofNullable(upTest).orElseThrow();
+      this.downTest = Optional.ofNullable(downTest).orElseThrow();
       this.keyFilterPattern = Pattern.compile(Optional.ofNullable(keyFilter).orElseThrow());
-      this.valueMappablePredicate = this.upPredicate.or(this.downPredicate);
     }
     // @formatter: on
 
+    private static <T> ValueTest fromPredicate(Class<T> mappableType, Predicate<T> predicate) {
+      Objects.requireNonNull(predicate);
+      return value -> predicate.test(mappableType.cast(value));
+    }
+
     @Override
     public boolean valueMappable(Object o) {
-      // @formatter:off
-      return Optional.ofNullable(o)
-          .filter(mappableType()::isInstance)
-          .map(mappableType()::cast)
-          .filter(valueMappablePredicate)
-          .isPresent();
-      // @formatter:on
+      return mappableType.isInstance(o) && (upTest.test(o) || downTest.test(o));
     }
 
     @Override
-    public ToDoubleFunction<HealthCheck> checkUpMapper(String key) {
-      // @formatter:off
-      return check -> Optional.ofNullable(check)
-          .map(HealthCheck::call)
-          .flatMap(HealthCheckResponse::getData)
-          .map(map -> map.get(key))
-          .filter(mappableType()::isInstance)
-          .map(mappableType()::cast)
-          .filter(upPredicate)
-          .map(unused -> 1.0)
-          .orElse(0.0);
-      // @formatter:on
+    public ToDoubleFunction<HealthCheckResponse> checkUpMapper(String key) {
+      return response -> map(dataValue(response, key), upTest);
     }
 
     @Override
-    public ToDoubleFunction<HealthRegistryImpl> registryUpMapper() {
-      // @formatter:off
-      return registry -> this.getResponseFromRegistry(registry)
-          .filter(upPredicate)
-          .map(unused -> 1.0)
-          .orElse(0.0);
-      // @formatter:on
+    public ToDoubleFunction<HealthCheckResponse> registryUpMapper() {
+      return response -> map(statusValue(response), upTest);
     }
 
-    private Optional<T> getResponseFromRegistry(HealthRegistryImpl healthRegistry) {
-      // @formatter:off
-      return Optional.ofNullable(healthRegistry)
-          .map(registry -> registry.getChecks(Map.of()))
-          .stream().flatMap(Collection::stream)
-          .map(Uni::subscribeAsCompletionStage)
-          .map(Impl::pureGetCompletableFuture)
-          .filter(Objects::nonNull)
-          .map(HealthCheckResponse::getStatus)
-          .filter(this::valueMappable)
-          .map(this.mappableType::cast)
-          .findFirst();
-      // @formatter:on
+    @Override
+    public ToDoubleFunction<HealthCheckResponse> checkDownMapper(String key) {
+      return response -> map(dataValue(response, key), downTest);
     }
 
-    private static <T> T pureGetCompletableFuture(CompletableFuture<T> future) {
-      try {
-        return future.get();
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-        return null;
-      } catch (ExecutionException e) {
-        return null;
-      }
+    @Override
+    public ToDoubleFunction<HealthCheckResponse> registryDownMapper() {
+      return response -> map(statusValue(response), downTest);
     }
 
-    @Override
-    public ToDoubleFunction<HealthCheck> checkDownMapper(String key) {
-      // @formatter:off
-      return check -> Optional.ofNullable(check)
-          .map(HealthCheck::call)
-          .flatMap(HealthCheckResponse::getData)
-          .map(map -> map.get(key))
-          .filter(mappableType()::isInstance)
-          .map(mappableType()::cast)
-          .filter(downPredicate)
-          .map(unused -> 1.0)
-          .orElse(0.0);
-      // @formatter:on
+    private double map(Object value, ValueTest test) {
+      return mappableType.isInstance(value) && test.test(value) ? MATCH : NO_MATCH;
     }
 
-    @Override
-    public ToDoubleFunction<HealthRegistryImpl> registryDownMapper() {
-      // @formatter:off
-      return registry -> this.getResponseFromRegistry(registry)
-          .filter(downPredicate)
-          .map(unused -> 1.0)
-          .orElse(0.0);
-      // @formatter:on
+    private static Object dataValue(HealthCheckResponse response, String key) {
+      if (Objects.isNull(response)) {
+        return null;
+      }
+      Map<String, Object> data = response.getData().orElse(null);
+      return Objects.isNull(data) ? null : data.get(key);
+    }
+
+    private static Object statusValue(HealthCheckResponse response) {
+      return Objects.isNull(response) ? null : response.getStatus();
     }
 
     public Class<T> mappableType() {
@@ -151,6 +124,12 @@ public interface HealthResponseDataMapper<T> {
       return this.keyFilterPattern;
     }
 
+    // tests a value that is known to be an instance of the mappable type
+    @FunctionalInterface
+    private interface ValueTest {
+      boolean test(Object value);
+    }
+
     public static class Builder<T> {
       private Class<T> mappableType;
       private Predicate<T> upPredicate;
@@ -161,8 +140,8 @@ public interface HealthResponseDataMapper<T> {
         // @formatter:off
         return new Impl<>(
             Objects.requireNonNull(mappableType),
-            Objects.requireNonNull(upPredicate),
-            Objects.requireNonNull(downPredicate),
+            fromPredicate(mappableType, upPredicate),
+            fromPredicate(mappableType, downPredicate),
             Objects.requireNonNull(keyFilter));
         // @formatter:on
       }
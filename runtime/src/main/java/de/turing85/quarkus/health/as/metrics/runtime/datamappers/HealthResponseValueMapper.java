@@ -0,0 +1,55 @@
+package de.turing85.quarkus.health.as.metrics.runtime.datamappers;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Pattern;
+
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+public interface HealthResponseValueMapper {
+  ToDoubleFunction<HealthCheckResponse> valueMapper(String key);
+
+  Pattern keyFilterPattern();
+
+  boolean valueMappable(Object o);
+
+  static HealthResponseValueMapper numberMapper(String keyFilter) {
+    return new NumberMapper(keyFilter);
+  }
+
+  // Exports Long, Integer, Double and any other Number as its double value. Reads NaN while the
+  // key is missing from the response.
+  class NumberMapper implements HealthResponseValueMapper {
+    private final Pattern keyFilterPattern;
+
+    private NumberMapper(String keyFilter) {
+      this.keyFilterPattern = Pattern.compile(Optional.ofNullable(keyFilter).orElseThrow());
+    }
+
+    @Override
+    public ToDoubleFunction<HealthCheckResponse> valueMapper(String key) {
+      return response -> {
+        if (Objects.isNull(response)) {
+          return Double.NaN;
+        }
+        Map<String, Object> data = response.getData().orElse(null);
+        if (Objects.nonNull(data) && data.get(key) instanceof Number number) {
+          return number.doubleValue();
+        }
+        return Double.NaN;
+      };
+    }
+
+    @Override
+    public Pattern keyFilterPattern() {
+      return keyFilterPattern;
+    }
+
+    @Override
+    public boolean valueMappable(Object o) {
+      return o instanceof Number;
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package de.turing85.quarkus.health.as.metrics.runtime.datamappers;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.spi.Bean;
+
+import io.quarkus.arc.InjectableBean;
+import io.smallrye.common.annotation.Identifier;
+
+public record NamedDataMapper(String name, HealthResponseDataMapper<?> mapper) {
+  public static final int CONFIGURED_MAPPER_PRIORITY = 100;
+
+  // mappers with a higher bean priority come first; mappers declared in configuration have
+  // CONFIGURED_MAPPER_PRIORITY, the default mappers have priority 0
+  public static List<NamedDataMapper> of(Instance<HealthResponseDataMapper<?>> dataMappers) {
+    // @formatter:off
+    return dataMappers.handlesStream()
+        .sorted(Comparator.comparingInt(
+            (Instance.Handle<HealthResponseDataMapper<?>> handle) -> priorityOf(handle.getBean()))
+            .reversed())
+        .map(handle -> new NamedDataMapper(nameOf(handle.getBean()), handle.get()))
+        .toList();
+    // @formatter:on
+  }
+
+  static int priorityOf(Bean<?> bean) {
+    if (bean instanceof InjectableBean<?> injectableBean) {
+      return injectableBean.getPriority();
+    }
+    return 0;
+  }
+
+  // the bean name of the mapper, its @Identifier, or its bean class as last resort
+  static String nameOf(Bean<?> bean) {
+    // @formatter:off
+    return Optional.ofNullable(bean.getName())
+        .or(() -> bean.getQualifiers().stream()
+            .filter(Identifier.class::isInstance)
+            .map(Identifier.class::cast)
+            .map(Identifier::value)
+            .findFirst())
+        .orElseGet(() -> bean.getBeanClass().getName());
+    // @formatter:on
+  }
+}
@@ -0,0 +1,22 @@
+package de.turing85.quarkus.health.as.metrics.runtime.datamappers;
+
+import java.util.Comparator;
+import java.util.List;
+
+import jakarta.enterprise.inject.Instance;
+
+public record NamedValueMapper(String name, HealthResponseValueMapper mapper) {
+  public static List<NamedValueMapper> of(Instance<HealthResponseValueMapper> valueMappers) {
+    // @formatter:off
+    return valueMappers.handlesStream()
+        .sorted(Comparator.comparingInt(
+            (Instance.Handle<HealthResponseValueMapper> handle) -> NamedDataMapper
+                .priorityOf(handle.getBean()))
+            .reversed())
+        .map(handle -> new NamedValueMapper(
+            NamedDataMapper.nameOf(handle.getBean()),
+            handle.get()))
+        .toList();
+    // @formatter:on
+  }
+}
@@ -0,0 +1,122 @@
+package de.turing85.quarkus.health.as.metrics.runtime.groups;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.inject.Singleton;
+
+import io.quarkus.arc.InjectableBean;
+import io.smallrye.common.annotation.Identifier;
+import io.smallrye.health.api.HealthGroup;
+import io.smallrye.health.api.HealthGroups;
+import io.smallrye.health.api.Wellness;
+import org.eclipse.microprofile.health.Liveness;
+import org.eclipse.microprofile.health.Readiness;
+import org.eclipse.microprofile.health.Startup;
+
+@Singleton
+public class HealthGroupMembership {
+  public static final String GROUPS_BY_CLASS_NAME_BEAN_NAME = "healthGroupsByClassName";
+
+  public static final String GROUP_HEALTH = "health";
+  public static final String GROUP_LIVE = "live";
+  public static final String GROUP_READY = "ready";
+  public static final String GROUP_STARTUP = "startup";
+  public static final String GROUP_WELL = "well";
+
+  // the health group contains all members of the standard groups
+  private static final Set<String> HEALTH_MEMBER_GROUPS =
+      Set.of(GROUP_LIVE, GROUP_READY, GROUP_STARTUP, GROUP_WELL);
+
+  private static final int[] NO_MEMBERS = new int[0];
+
+  private final Map<String, Set<String>> groupsByClassName;
+  // members are the ids of their result slots, see HealthResultCaches
+  private final Map<String, int[]> checksByGroup;
+  private final Map<String, int[]> registriesByGroup;
+
+  public HealthGroupMembership(
+
+      @Identifier(GROUPS_BY_CLASS_NAME_BEAN_NAME)
+      @SuppressWarnings("CdiInjectionPointsInspection") Map<String, Set<String>> groupsByClassName) {
+    this.groupsByClassName = groupsByClassName;
+    this.checksByGroup = new ConcurrentHashMap<>();
+    this.registriesByGroup = new ConcurrentHashMap<>();
+  }
+
+  // Class beans are looked up in the index built from the Jandex scan at build time. Producer
+  // beans are not part of the index, their groups are read from the bean's qualifiers.
+  public Set<String> groupsOf(Bean<?> bean) {
+    if (bean instanceof InjectableBean<?> injectableBean
+        && injectableBean.getKind() == InjectableBean.Kind.CLASS) {
+      Set<String> groups = groupsByClassName.get(bean.getBeanClass().getName());
+      if (Objects.nonNull(groups)) {
+        return groups;
+      }
+    }
+    return groupsFromQualifiers(bean);
+  }
+
+  private static Set<String> groupsFromQualifiers(Bean<?> bean) {
+    Set<String> groups = new HashSet<>();
+    for (Annotation qualifier : bean.getQualifiers()) {
+      if (qualifier instanceof Liveness) {
+        groups.add(GROUP_LIVE);
+      } else if (qualifier instanceof Readiness) {
+        groups.add(GROUP_READY);
+      } else if (qualifier instanceof Startup) {
+        groups.add(GROUP_STARTUP);
+      } else if (qualifier instanceof Wellness) {
+        groups.add(GROUP_WELL);
+      } else if (qualifier instanceof HealthGroup healthGroup) {
+        groups.add(healthGroup.value());
+      } else if (qualifier instanceof HealthGroups healthGroups) {
+        for (HealthGroup healthGroup : healthGroups.value()) {
+          groups.add(healthGroup.value());
+        }
+      }
+    }
+    return Set.copyOf(groups);
+  }
+
+  public void addCheck(int slot, Set<String> groups) {
+    for (String group : withHealthGroup(groups)) {
+      checksByGroup.merge(group, new int[] {slot}, HealthGroupMembership::union);
+    }
+  }
+
+  public void addRegistry(int slot, String group) {
+    for (String memberGroup : withHealthGroup(Set.of(group))) {
+      registriesByGroup.merge(memberGroup, new int[] {slot}, HealthGroupMembership::union);
+    }
+  }
+
+  // the returned array must not be modified
+  public int[] checksOf(String group) {
+    return checksByGroup.getOrDefault(group, NO_MEMBERS);
+  }
+
+  // the returned array must not be modified
+  public int[] registriesOf(String group) {
+    return registriesByGroup.getOrDefault(group, NO_MEMBERS);
+  }
+
+  private static int[] union(int[] members, int[] added) {
+    return IntStream.concat(Arrays.stream(members), Arrays.stream(added)).distinct().toArray();
+  }
+
+  private static Set<String> withHealthGroup(Set<String> groups) {
+    Set<String> result = new HashSet<>(groups);
+    if (groups.stream().anyMatch(HEALTH_MEMBER_GROUPS::contains)) {
+      result.add(GROUP_HEALTH);
+    }
+    return result;
+  }
+}
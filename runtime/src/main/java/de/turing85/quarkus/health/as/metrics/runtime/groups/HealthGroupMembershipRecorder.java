@@ -0,0 +1,21 @@
+package de.turing85.quarkus.health.as.metrics.runtime.groups;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import io.quarkus.runtime.annotations.Recorder;
+
+@Recorder
+public class HealthGroupMembershipRecorder {
+  public Supplier<Map<String, Set<String>>> wrap(Map<String, Set<String>> groupsByClassName) {
+    // @formatter:off
+    Map<String, Set<String>> immutableGroupsByClassName = groupsByClassName.entrySet().stream()
+        .collect(Collectors.toUnmodifiableMap(
+            Map.Entry::getKey,
+            entry -> Set.copyOf(entry.getValue())));
+    // @formatter:on
+    return () -> immutableGroupsByClassName;
+  }
+}
@@ -1,128 +1,205 @@
 package de.turing85.quarkus.health.as.metrics.runtime.groups;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.function.ToDoubleFunction;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntFunction;
 
 import jakarta.enterprise.event.Observes;
 import jakarta.inject.Singleton;
 
-import io.micrometer.core.instrument.Gauge;
-import io.micrometer.core.instrument.MeterRegistry;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthAsMetricsConfig;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthSeriesGuard;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthStatusGauges;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthTimers;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthTransitions;
+import de.turing85.quarkus.health.as.metrics.runtime.cache.HealthResultCaches;
+import de.turing85.quarkus.health.as.metrics.runtime.checks.HealthChecksMetricsRegistrar;
+import de.turing85.quarkus.health.as.metrics.runtime.registries.HealthRegistriesMetricsRegistrar;
+import de.turing85.quarkus.health.as.metrics.runtime.snapshot.CheckResult;
+import de.turing85.quarkus.health.as.metrics.runtime.snapshot.HealthSnapshot;
+import de.turing85.quarkus.health.as.metrics.runtime.snapshot.HealthSnapshots;
+import de.turing85.quarkus.health.as.metrics.runtime.snapshot.HealthStatus;
+import io.micrometer.core.instrument.Tags;
 import io.quarkus.runtime.StartupEvent;
 import io.smallrye.common.annotation.Identifier;
-import io.smallrye.health.SmallRyeHealth;
 import io.smallrye.health.SmallRyeHealthReporter;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.jboss.logging.Logger;
 
 @Singleton
 public class HealthGroupsMetricsRegistrar {
   public static final String CUSTOM_HEALTH_GROUPS_BEAN_NAME = "customHealthGroups";
 
+  private static final Logger LOGGER = Logger.getLogger(HealthGroupsMetricsRegistrar.class);
+
   private static final String STATUS_CHECK_NAME = "application.status";
   private static final String TAG_GROUP = "group";
-  private static final String TAG_STATUS = "status";
 
-  private final MeterRegistry registry;
-  private final SmallRyeHealthReporter healthReporter;
   private final Set<String> customGroups;
-
-  public HealthGroupsMetricsRegistrar(MeterRegistry registry, SmallRyeHealthReporter healthReporter,
+  private final SmallRyeHealthReporter healthReporter;
+  private final HealthSnapshots snapshots;
+  private final HealthGroupMembership groupMembership;
+  private final HealthChecksMetricsRegistrar checksRegistrar;
+  private final HealthRegistriesMetricsRegistrar registriesRegistrar;
+  private final HealthSeriesGuard seriesGuard;
+  private final HealthStatusGauges statusGauges;
+  private final HealthTimers timers;
+  private final HealthTransitions transitions;
+  private final Map<String, HealthTransitions.Tracker> trackers;
+  private final HealthResultCaches caches;
+  private final HealthAsMetricsConfig.RefreshConfig refresh;
+  private final CopyOnWriteArrayList<String> registeredGroups;
+
+  public HealthGroupsMetricsRegistrar(
 
       @Identifier(CUSTOM_HEALTH_GROUPS_BEAN_NAME)
-      @SuppressWarnings("CdiInjectionPointsInspection") Set<String> customGroups) {
-    this.registry = registry;
-    this.healthReporter = healthReporter;
+      @SuppressWarnings("CdiInjectionPointsInspection") Set<String> customGroups,
+
+      SmallRyeHealthReporter healthReporter, HealthSnapshots snapshots,
+      HealthGroupMembership groupMembership, HealthChecksMetricsRegistrar checksRegistrar,
+      HealthRegistriesMetricsRegistrar registriesRegistrar, HealthSeriesGuard seriesGuard,
+      HealthStatusGauges statusGauges, HealthTimers timers, HealthTransitions transitions,
+      HealthResultCaches caches, HealthAsMetricsConfig config) {
     this.customGroups = customGroups;
-  }// @formatter:off
+    this.healthReporter = healthReporter;
+    this.snapshots = snapshots;
+    this.groupMembership = groupMembership;
+    this.checksRegistrar = checksRegistrar;
+    this.registriesRegistrar = registriesRegistrar;
+    this.seriesGuard = seriesGuard;
+    this.statusGauges = statusGauges;
+    this.timers = timers;
+    this.transitions = transitions;
+    this.trackers = new ConcurrentHashMap<>();
+    this.caches = caches;
+    this.refresh = config.refresh();
+    this.registeredGroups = new CopyOnWriteArrayList<>();
+  }
 
   void register(@Observes StartupEvent ignored) {
-    registerHealthMetricsToRegistry();
-    registerLivenessMetricsToRegistry();
-    registerReadinessMetricsToRegistry();
-    registerStartupMetricsToRegistry();
-    registerWellnessMetricsToRegistry();
+    registerGroup(HealthGroupMembership.GROUP_HEALTH);
+    registerGroup(HealthGroupMembership.GROUP_LIVE);
+    registerGroup(HealthGroupMembership.GROUP_READY);
+    registerGroup(HealthGroupMembership.GROUP_STARTUP);
+    registerGroup(HealthGroupMembership.GROUP_WELL);
 
     customGroups.forEach(this::registerCustomGroup);
   }
 
-  private void registerHealthMetricsToRegistry() {
-    // @formatter:off
-    registerReporters(
-        "health",
-        r -> statusToIntForUp(r.getHealth()),
-        r -> statusToIntForDown(r.getHealth()));
-    // @formatter:on
+  // groups that SmallRye does not know, e.g. because all of their checks were removed, are skipped
+  private void registerCustomGroup(String name) {
+    if (Objects.nonNull(healthReporter.getHealthGroup(name))) {
+      registerGroup(name);
+    }
   }
 
-  private void registerLivenessMetricsToRegistry() {
+  public HealthStatus fetchGroupStatus(String groupName) {
     // @formatter:off
-    registerReporters(
-        "live",
-        r -> statusToIntForUp(r.getLiveness()),
-        r -> statusToIntForDown(r.getLiveness()));
+    return caches.groups().getOrRefresh(
+        groupName,
+        refresh.groups().getOrDefault(groupName, refresh.interval()),
+        () -> observe(groupName, timers.recordGroup(groupName, () -> aggregate(
+            groupName,
+            this::healthCheckData,
+            registriesRegistrar::healthRegistryData))),
+        HealthStatus.UNKNOWN);
     // @formatter:on
   }
 
-  private void registerReadinessMetricsToRegistry() {
-    // @formatter:off
-    registerReporters(
-        "ready",
-        r -> statusToIntForUp(r.getReadiness()),
-        r -> statusToIntForDown(r.getReadiness()));
-    // @formatter:on
+  // the groups are aggregated from the results of checks and registries in members
+  public Map<String, HealthStatus> evaluateGroups(HealthSnapshot members) {
+    Map<String, HealthStatus> groups = new HashMap<>();
+    for (String group : registeredGroups) {
+      // @formatter:off
+      groups.put(group, observe(group, timers.recordGroup(group, () -> aggregate(
+          group,
+          members::check,
+          members::registry))));
+      // @formatter:on
+    }
+    return groups;
   }
 
-  private void registerStartupMetricsToRegistry() {
-    // @formatter:off
-    registerReporters(
-        "startup",
-        r -> statusToIntForUp(r.getStartup()),
-        r -> statusToIntForDown(r.getStartup()));
-    // @formatter:on
+  private HealthStatus observe(String group, HealthStatus status) {
+    trackers.getOrDefault(group, HealthTransitions.Tracker.NONE).observe(status);
+    return status;
   }
 
-  private void registerWellnessMetricsToRegistry() {
-    // @formatter:off
-    registerReporters(
-        "well",
-        r -> statusToIntForUp(r.getWellness()),
-        r -> statusToIntForDown(r.getWellness()));
-    // @formatter:on
+  // A group is DOWN if any of its members is DOWN or failed, and UP if all of its members are UP.
+  // Otherwise, i.e. if a member has no result (it timed out with the unknown fallback or has not
+  // been evaluated yet), the group is UNKNOWN. Groups without members are UP.
+  private HealthStatus aggregate(String group, IntFunction<CheckResult> checks,
+      IntFunction<Map<String, HealthCheckResponse>> registries) {
+    HealthStatus status = HealthStatus.UP;
+    for (int check : groupMembership.checksOf(group)) {
+      status = combine(status, checks.apply(check).status());
+      if (status == HealthStatus.DOWN) {
+        return status;
+      }
+    }
+    for (int healthRegistry : groupMembership.registriesOf(group)) {
+      for (HealthCheckResponse response : registries.apply(healthRegistry).values()) {
+        status = combine(status, HealthStatus.of(response));
+        if (status == HealthStatus.DOWN) {
+          return status;
+        }
+      }
+    }
+    return status;
   }
 
-  private void registerCustomGroup(String groupName) {
-    if (Objects.nonNull(healthReporter.getHealthGroup(groupName))) {
-      // @formatter:off
-      registerReporters(
-          groupName,
-          r -> statusToIntForUp(r.getHealthGroup(groupName)),
-          r -> statusToIntForDown(r.getHealthGroup(groupName)));
-      // @formatter:on
+  private static HealthStatus combine(HealthStatus status, HealthStatus memberStatus) {
+    if (status == HealthStatus.DOWN || memberStatus == HealthStatus.DOWN) {
+      return HealthStatus.DOWN;
+    }
+    if (status == HealthStatus.UNKNOWN || memberStatus == HealthStatus.UNKNOWN) {
+      return HealthStatus.UNKNOWN;
     }
+    return HealthStatus.UP;
   }
 
-  private static int statusToIntForUp(SmallRyeHealth health) {
-    return health.isDown() ? 0 : 1;
+  private CheckResult healthCheckData(int check) {
+    try {
+      return checksRegistrar.healthCheckData(check);
+    } catch (RuntimeException e) {
+      LOGGER.warn("Received exception during check execution", e);
+      return CheckResult.FAILED;
+    }
   }
 
-  private static int statusToIntForDown(SmallRyeHealth health) {
-    return health.isDown() ? 1 : 0;
+  private HealthStatus groupStatus(String groupName) {
+    if (snapshots.scheduled()) {
+      return snapshots.current().groups().getOrDefault(groupName, HealthStatus.UNKNOWN);
+    }
+    return fetchGroupStatus(groupName);
   }
 
-  private void registerReporters(String name, ToDoubleFunction<SmallRyeHealthReporter> upMapper,
-      ToDoubleFunction<SmallRyeHealthReporter> downMapper) {
-    registerReporter(name, "UP", upMapper);
-    registerReporter(name, "DOWN", downMapper);
+  private int statusToInt(String groupName, HealthStatus status) {
+    if (groupStatus(groupName) == status) {
+      return 1;
+    } else {
+      return 0;
+    }
   }
 
-  private void registerReporter(String name, String statusTag,
-      ToDoubleFunction<SmallRyeHealthReporter> mapper) {
-    // @formatter:off
-    Gauge.builder(STATUS_CHECK_NAME, healthReporter, mapper)
-        .tag(TAG_GROUP, name)
-        .tag(TAG_STATUS, statusTag)
-        .strongReference(true)
-        .register(registry);
-    // @formatter:on
+  private void registerGroup(String name) {
+    if (registeredGroups.addIfAbsent(name) && seriesGuard.tryAcquireForGroup(name,
+        statusGauges.seriesCount(false) + transitions.seriesCount())) {
+      Tags tags = Tags.of(TAG_GROUP, name);
+      // @formatter:off
+      statusGauges.register(
+          STATUS_CHECK_NAME,
+          tags,
+          this,
+          r -> r.statusToInt(name, HealthStatus.UP),
+          r -> r.statusToInt(name, HealthStatus.DOWN),
+          false);
+      // @formatter:on
+      trackers.put(name, transitions.register(STATUS_CHECK_NAME, tags));
+    }
   }
 }
@@ -1,13 +1,17 @@
 package de.turing85.quarkus.health.as.metrics.runtime.registries;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.function.ToDoubleFunction;
 
 import jakarta.enterprise.event.Observes;
@@ -16,14 +20,26 @@ import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Singleton;
 
 import de.turing85.quarkus.health.as.metrics.runtime.Config;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthAsMetricsConfig;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthDiscovery;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthExecutor;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthSeriesGuard;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthStatusGauges;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthTimers;
+import de.turing85.quarkus.health.as.metrics.runtime.HealthTransitions;
+import de.turing85.quarkus.health.as.metrics.runtime.cache.HealthResultCaches;
+import de.turing85.quarkus.health.as.metrics.runtime.cache.SlotIndex;
+import de.turing85.quarkus.health.as.metrics.runtime.datamappers.DataMapperDispatcher;
 import de.turing85.quarkus.health.as.metrics.runtime.datamappers.HealthResponseDataMapper;
-import io.micrometer.core.instrument.Gauge;
-import io.micrometer.core.instrument.MeterRegistry;
-import io.quarkus.cache.CacheKey;
-import io.quarkus.cache.CacheResult;
+import de.turing85.quarkus.health.as.metrics.runtime.groups.HealthGroupMembership;
+import de.turing85.quarkus.health.as.metrics.runtime.snapshot.HealthSnapshots;
+import de.turing85.quarkus.health.as.metrics.runtime.snapshot.HealthStatus;
+import io.micrometer.core.instrument.Tags;
 import io.quarkus.runtime.StartupEvent;
+import io.smallrye.health.api.HealthRegistry;
 import io.smallrye.health.registry.HealthRegistries;
 import io.smallrye.health.registry.HealthRegistryImpl;
+import io.smallrye.mutiny.Uni;
 import org.eclipse.microprofile.health.HealthCheckResponse;
 import org.jboss.logging.Logger;
 
@@ -31,96 +47,280 @@ import org.jboss.logging.Logger;
 public class HealthRegistriesMetricsRegistrar {
   private static final Logger LOGGER = Logger.getLogger(HealthRegistriesMetricsRegistrar.class);
 
-  private final MeterRegistry registry;
   private final Instance<HealthRegistries> healthRegistries;
-  private final Instance<HealthResponseDataMapper<?>> dataMappers;
+  private final DataMapperDispatcher dataMappers;
+  private final HealthSnapshots snapshots;
+  private final HealthGroupMembership groupMembership;
+  private final HealthDiscovery discovery;
+  private final HealthSeriesGuard seriesGuard;
+  private final HealthStatusGauges statusGauges;
+  private final HealthTimers timers;
+  private final HealthTransitions transitions;
+  private final Duration registryDeadline;
+  private final HealthResultCaches caches;
+  private final HealthExecutor executor;
+  private final HealthAsMetricsConfig.RefreshConfig refresh;
+  private final SlotIndex<RegisteredRegistry> registeredRegistries;
+  private final Set<String> registeredCheckNames;
 
-  HealthRegistriesMetricsRegistrar(MeterRegistry registry,
-      @Any Instance<HealthRegistries> healthRegistries,
-      @Any Instance<HealthResponseDataMapper<?>> dataMappers) {
-    this.registry = registry;
+  HealthRegistriesMetricsRegistrar(@Any Instance<HealthRegistries> healthRegistries,
+      DataMapperDispatcher dataMappers, HealthSnapshots snapshots,
+      HealthGroupMembership groupMembership, HealthDiscovery discovery,
+      HealthSeriesGuard seriesGuard, HealthStatusGauges statusGauges, HealthTimers timers,
+      HealthTransitions transitions, HealthResultCaches caches, HealthExecutor executor,
+      HealthAsMetricsConfig config) {
     this.healthRegistries = healthRegistries;
     this.dataMappers = dataMappers;
+    this.snapshots = snapshots;
+    this.groupMembership = groupMembership;
+    this.discovery = discovery;
+    this.seriesGuard = seriesGuard;
+    this.statusGauges = statusGauges;
+    this.timers = timers;
+    this.transitions = transitions;
+    this.registryDeadline = config.evaluation().registryDeadline();
+    this.caches = caches;
+    this.executor = executor;
+    this.refresh = config.refresh();
+    this.registeredRegistries = new SlotIndex<>();
+    this.registeredCheckNames = ConcurrentHashMap.newKeySet();
   }
 
   void registerHealthRegistries(@Observes StartupEvent ignored) {
+    List<Supplier<CompletionStage<?>>> registrations = new ArrayList<>();
+    for (HealthRegistries healthRegistry : healthRegistries) {
+      registrations.add(() -> registerHealthRegistry(healthRegistry.getLivenessRegistry(),
+          HealthGroupMembership.GROUP_LIVE));
+      registrations.add(() -> registerHealthRegistry(healthRegistry.getReadinessRegistry(),
+          HealthGroupMembership.GROUP_READY));
+      registrations.add(() -> registerHealthRegistry(healthRegistry.getStartupRegistry(),
+          HealthGroupMembership.GROUP_STARTUP));
+      registrations.add(() -> registerHealthRegistry(healthRegistry.getWellnessRegistry(),
+          HealthGroupMembership.GROUP_WELL));
+    }
+    discovery.discover("health registries", registrations);
+  }
+
+  // the names of the registry's checks are only known from their responses
+  private CompletionStage<?> registerHealthRegistry(HealthRegistry healthRegistry, String group) {
+    if (!(healthRegistry instanceof HealthRegistryImpl healthRegistryImpl)) {
+      return CompletableFuture.completedFuture(null);
+    }
+    // @formatter:off
+    RegisteredRegistry registeredRegistry = new RegisteredRegistry(
+        healthRegistryImpl,
+        caches.registries().allocate(),
+        refreshIntervalFor(group),
+        new ConcurrentHashMap<>());
+    return caches.registries()
+        .getAsync(
+            registeredRegistry.slot(),
+            registeredRegistry.refreshInterval().orElse(refresh.interval()),
+            () -> evaluateHealthRegistry(registeredRegistry).subscribeAsCompletionStage())
+        .thenAccept(responses -> {
+          responses.values()
+              .forEach(response -> registerHealthCheckResponse(response, registeredRegistry));
+          registeredRegistries.put(registeredRegistry.slot(), registeredRegistry);
+          groupMembership.addRegistry(registeredRegistry.slot(), group);
+        });
+    // @formatter:on
+  }
+
+  // Only explicitly configured intervals apply in scheduled mode; all other registries are
+  // evaluated on every run of the scheduler.
+  private Optional<Duration> refreshIntervalFor(String group) {
     // @formatter:off
-    healthRegistries.stream()
-        .map(healthRegistry -> List.of(
-            healthRegistry.getLivenessRegistry(),
-            healthRegistry.getReadinessRegistry(),
-            healthRegistry.getStartupRegistry(),
-            healthRegistry.getWellnessRegistry()))
-        .flatMap(Collection::stream)
-        .filter(HealthRegistryImpl.class::isInstance)
-        .map(HealthRegistryImpl.class::cast)
-        .forEach(this::registerHealthRegistry);
+    return Optional.ofNullable(refresh.registries().get(group))
+        .or(() -> Optional.ofNullable(refresh.groups().get(group)));
     // @formatter:on
   }
 
-  private void registerHealthRegistry(HealthRegistryImpl healthRegistry) {
-    fetchRegistryData(healthRegistry)
-        .forEach(response -> registerHealthCheckResponse(response, healthRegistry));
+  // The checks of a registry are subscribed to without waiting for them, so a background refresh
+  // does not occupy a thread while the checks are running.
+  private Map<String, HealthCheckResponse> fetchRegistryData(
+      RegisteredRegistry registeredRegistry) {
+    // @formatter:off
+    return caches.registries().getOrRefreshAsync(
+        registeredRegistry.slot(),
+        registeredRegistry.refreshInterval().orElse(refresh.interval()),
+        () -> evaluateHealthRegistry(registeredRegistry).subscribeAsCompletionStage(),
+        Map.of());
+    // @formatter:on
   }
 
-  @CacheResult(cacheName = Config.CACHE_REGISTRY_NAME)
-  public Collection<HealthCheckResponse> fetchRegistryData(
-      @CacheKey HealthRegistryImpl healthRegistry) {
-    List<HealthCheckResponse> responses = new ArrayList<>();
-    for (var check : healthRegistry.getChecks(Map.of())) {
-      try {
-        responses.add(check.subscribe().asCompletionStage().toCompletableFuture().get());
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-        LOGGER.warn("Received interruption during check execution", e);
-      } catch (ExecutionException e) {
-        LOGGER.warn("Received execution exception during check execution", e);
+  // the results are indexed by the slots of the registries
+  public List<Map<String, HealthCheckResponse>> evaluateHealthRegistries() {
+    List<RegisteredRegistry> registries = registeredRegistries.values();
+    // @formatter:off
+    List<Map<String, HealthCheckResponse>> evaluated = joinAll(registries.stream()
+            .map(this::evaluateIfDue)
+            .toList())
+        .await().indefinitely();
+    // @formatter:on
+    List<Map<String, HealthCheckResponse>> responses = new ArrayList<>();
+    for (int i = 0; i < registries.size(); ++i) {
+      int slot = registries.get(i).slot();
+      while (responses.size() <= slot) {
+        responses.add(Map.of());
       }
+      responses.set(slot, evaluated.get(i));
     }
     return responses;
   }
 
-  private void registerHealthCheckResponse(HealthCheckResponse healthResponse,
-      HealthRegistryImpl healthRegistry) {
-    Map<String, Boolean> isUnmapped = new HashMap<>();
+  public Map<String, HealthCheckResponse> healthRegistryData(int slot) {
+    RegisteredRegistry registeredRegistry = registeredRegistries.get(slot);
+    if (Objects.isNull(registeredRegistry)) {
+      return Map.of();
+    }
+    return healthRegistryData(registeredRegistry);
+  }
+
+  private Map<String, HealthCheckResponse> healthRegistryData(
+      RegisteredRegistry registeredRegistry) {
+    if (snapshots.scheduled()) {
+      return snapshots.current().registry(registeredRegistry.slot());
+    }
+    return fetchRegistryData(registeredRegistry);
+  }
+
+  private Uni<Map<String, HealthCheckResponse>> evaluateIfDue(
+      RegisteredRegistry registeredRegistry) {
+    if (registeredRegistry.refreshInterval().isEmpty()) {
+      return evaluateHealthRegistry(registeredRegistry);
+    }
+    int slot = registeredRegistry.slot();
+    // @formatter:off
+    return caches.registries().getIfFresh(slot, registeredRegistry.refreshInterval().get())
+        .map(responses -> Uni.createFrom().item(responses))
+        .orElseGet(() -> evaluateHealthRegistry(registeredRegistry)
+            .invoke(responses -> caches.registries().put(slot, responses)));
+    // @formatter:on
+  }
+
+  // All checks of the registry are subscribed to concurrently. The deadline bounds the evaluation
+  // of the registry as a whole: checks that have not responded by then are cancelled and left out,
+  // so the result may be partial. The result is indexed by check name, so that each gauge reads its
+  // own check's response.
+  private Uni<Map<String, HealthCheckResponse>> evaluateHealthRegistry(
+      RegisteredRegistry registeredRegistry) {
     // @formatter:off
-    List<HealthResponseDataMapper<?>> statusMappers = dataMappers.stream()
-        .filter(mapper -> mapper.mappableType().equals(HealthCheckResponse.Status.class))
-        .toList();
-    for (HealthResponseDataMapper<?> dataMapper : statusMappers) {
-      Optional.of(healthResponse)
-          .filter(response -> isUnmapped.getOrDefault(response.getName(), true))
-          .filter(response -> dataMapper.keyFilterPattern().matcher(response.getName()).matches())
-
-          // We know that isUnmapped.get(entry.getKey()) is null, thus
-          // isUnmapped.put(entry.getKey(), false) will return null
-          // We use this trick to avoid calling ".peek(...)" on the stream.
-          .filter(response -> Objects.isNull(isUnmapped.put(response.getName(), false)))
-
-          .map(response -> createGaugeBuildersForRegistry(
-              response.getName(),
-              healthRegistry,
-              dataMapper))
-          .stream().flatMap(Collection::stream)
-          .forEach(builder -> builder.register(registry));
+    return Uni.createFrom().deferred(() -> {
+          List<CompletableFuture<HealthCheckResponse>> checks =
+              registeredRegistry.registry().getChecks(Map.of()).stream()
+                  .map(this::timed)
+                  .map(this::recovered)
+                  .map(Uni::subscribeAsCompletionStage)
+                  .toList();
+          return Uni.createFrom()
+              .completionStage(CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new)))
+              .ifNoItem().after(registryDeadline).recoverWithItem(() -> null)
+              .map(ignored -> collectResponses(checks));
+        })
+        .invoke(responses -> observeTransitions(registeredRegistry, responses));
+    // @formatter:on
+  }
+
+  private Map<String, HealthCheckResponse> collectResponses(
+      List<CompletableFuture<HealthCheckResponse>> checks) {
+    Map<String, HealthCheckResponse> responses = new HashMap<>();
+    int missed = 0;
+    for (CompletableFuture<HealthCheckResponse> check : checks) {
+      if (!check.isDone()) {
+        check.cancel(false);
+        ++missed;
+        continue;
       }
+      Optional.ofNullable(check.join())
+          .ifPresent(response -> responses.putIfAbsent(response.getName(), response));
+    }
+    if (missed > 0) {
+      LOGGER.warnf("%d checks of a registry did not respond within %s", missed, registryDeadline);
+    }
+    return Map.copyOf(responses);
+  }
+
+  private static void observeTransitions(RegisteredRegistry registeredRegistry,
+      Map<String, HealthCheckResponse> responses) {
+    responses.forEach((name, response) -> registeredRegistry.trackers()
+        .getOrDefault(name, HealthTransitions.Tracker.NONE).observe(HealthStatus.of(response)));
+  }
+
+  // The name of a check is only known from its response, so checks that fail or miss the registry
+  // deadline are not timed.
+  private Uni<HealthCheckResponse> timed(Uni<HealthCheckResponse> check) {
+    return Uni.createFrom().deferred(() -> {
+      long start = System.nanoTime();
+      return check.invoke(response -> {
+        if (Objects.nonNull(response)) {
+          timers.recordCheck(response.getName(), System.nanoTime() - start);
+        }
+      });
+    });
+  }
+
+  // a failing check is left out of the result, without failing the other checks of the registry
+  private Uni<HealthCheckResponse> recovered(Uni<HealthCheckResponse> check) {
+    // @formatter:off
+    return check
+        .runSubscriptionOn(executor)
+        .onFailure().invoke(e -> LOGGER.warn("Received failure during check execution", e))
+        .onFailure().recoverWithNull();
     // @formatter:on
   }
 
-  private static List<Gauge.Builder<HealthRegistryImpl>> createGaugeBuildersForRegistry(
-      String registryName, HealthRegistryImpl registry, HealthResponseDataMapper<?> mapper) {
-    return List.of(
-        createGaugeMapperForRegistry(registryName, registry, "UP", mapper.registryUpMapper()),
-        createGaugeMapperForRegistry(registryName, registry, "DOWN", mapper.registryDownMapper()));
+  private static <T> Uni<List<T>> joinAll(List<Uni<T>> unis) {
+    if (unis.isEmpty()) {
+      return Uni.createFrom().item(List.of());
+    }
+    return Uni.join().all(unis).andFailFast();
   }
 
-  private static Gauge.Builder<HealthRegistryImpl> createGaugeMapperForRegistry(String checkName,
-      HealthRegistryImpl registry, String status, ToDoubleFunction<HealthRegistryImpl> mapper) {
+  // A check that is part of several registries, e.g. of the liveness and the readiness registry,
+  // gets its metrics once, from the first registry it is found in. Otherwise, it would be charged
+  // to the series guard once per registry, and the gauges of all but the first registry would be
+  // deduplicated by the meter registry.
+  private void registerHealthCheckResponse(HealthCheckResponse healthResponse,
+      RegisteredRegistry registeredRegistry) {
+    String checkName = healthResponse.getName();
+    if (!registeredCheckNames.add(checkName)) {
+      return;
+    }
     // @formatter:off
-    return Gauge.builder(Config.INDIVIDUAL_CHECK_NAME, registry, mapper)
-        .tag(Config.TAG_CHECK, checkName)
-        .tag(Config.TAG_STATUS, status)
-        .strongReference(true);
+    dataMappers.resolveStatus(checkName)
+        .filter(named -> seriesGuard.tryAcquireForCheck(
+            checkName,
+            named.name(),
+            statusGauges.seriesCount(false) + transitions.seriesCount()))
+        .ifPresent(named -> registerRegistryGauges(checkName, registeredRegistry, named.mapper()));
     // @formatter:on
   }
+
+  private void registerRegistryGauges(String checkName, RegisteredRegistry registeredRegistry,
+      HealthResponseDataMapper<?> mapper) {
+    Tags tags = Tags.of(Config.TAG_CHECK, checkName);
+    // @formatter:off
+    statusGauges.register(
+        Config.INDIVIDUAL_CHECK_NAME,
+        tags,
+        registeredRegistry,
+        fromHealthRegistryData(checkName, mapper.registryUpMapper()),
+        fromHealthRegistryData(checkName, mapper.registryDownMapper()),
+        false);
+    // @formatter:on
+    registeredRegistry.trackers().put(checkName,
+        transitions.register(Config.INDIVIDUAL_CHECK_NAME, tags));
+  }
+
+  private ToDoubleFunction<RegisteredRegistry> fromHealthRegistryData(String checkName,
+      ToDoubleFunction<HealthCheckResponse> mapper) {
+    return registeredRegistry -> mapper
+        .applyAsDouble(healthRegistryData(registeredRegistry).get(checkName));
+  }
+
+  // slot is the id of the registry's entry in HealthResultCaches#registries(); trackers are keyed
+  // by the names of the checks whose metrics are registered for this registry
+  private record RegisteredRegistry(HealthRegistryImpl registry, int slot,
+      Optional<Duration> refreshInterval, Map<String, HealthTransitions.Tracker> trackers) {
+  }
 }
@@ -0,0 +1,18 @@
+package de.turing85.quarkus.health.as.metrics.runtime.snapshot;
+
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+public record CheckResult(HealthCheckResponse response, HealthStatus status) {
+  public static final CheckResult UNKNOWN = new CheckResult(null, HealthStatus.UNKNOWN);
+
+  // a check that failed without a response
+  public static final CheckResult FAILED = new CheckResult(null, HealthStatus.DOWN);
+
+  public static CheckResult of(HealthCheckResponse response) {
+    return new CheckResult(response, HealthStatus.of(response));
+  }
+
+  public static CheckResult down(String name) {
+    return of(HealthCheckResponse.named(name).down().build());
+  }
+}
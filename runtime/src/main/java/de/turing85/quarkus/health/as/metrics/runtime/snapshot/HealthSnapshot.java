@@ -0,0 +1,28 @@
+package de.turing85.quarkus.health.as.metrics.runtime.snapshot;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+// The results of checks and registries are indexed by the ids of their result slots, so that a
+// read does not look them up by their (proxy) instances.
+public record HealthSnapshot(List<CheckResult> checks,
+    List<Map<String, HealthCheckResponse>> registries, Map<String, HealthStatus> groups) {
+
+  public static final HealthSnapshot EMPTY = new HealthSnapshot(List.of(), List.of(), Map.of());
+
+  public HealthSnapshot {
+    checks = List.copyOf(checks);
+    registries = List.copyOf(registries);
+    groups = Map.copyOf(groups);
+  }
+
+  public CheckResult check(int slot) {
+    return slot < checks.size() ? checks.get(slot) : CheckResult.UNKNOWN;
+  }
+
+  public Map<String, HealthCheckResponse> registry(int slot) {
+    return slot < registries.size() ? registries.get(slot) : Map.of();
+  }
+}
@@ -0,0 +1,78 @@
+package de.turing85.quarkus.health.as.metrics.runtime.snapshot;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Singleton;
+import jakarta.interceptor.Interceptor;
+
+import de.turing85.quarkus.health.as.metrics.runtime.HealthAsMetricsConfig;
+import de.turing85.quarkus.health.as.metrics.runtime.checks.HealthChecksMetricsRegistrar;
+import de.turing85.quarkus.health.as.metrics.runtime.groups.HealthGroupsMetricsRegistrar;
+import de.turing85.quarkus.health.as.metrics.runtime.registries.HealthRegistriesMetricsRegistrar;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import org.jboss.logging.Logger;
+
+@Singleton
+public class HealthSnapshotScheduler {
+  private static final Logger LOGGER = Logger.getLogger(HealthSnapshotScheduler.class);
+
+  private final HealthAsMetricsConfig config;
+  private final HealthSnapshots snapshots;
+  private final HealthChecksMetricsRegistrar checksRegistrar;
+  private final HealthRegistriesMetricsRegistrar registriesRegistrar;
+  private final HealthGroupsMetricsRegistrar groupsRegistrar;
+
+  private ScheduledExecutorService executor;
+
+  HealthSnapshotScheduler(HealthAsMetricsConfig config, HealthSnapshots snapshots,
+      HealthChecksMetricsRegistrar checksRegistrar,
+      HealthRegistriesMetricsRegistrar registriesRegistrar,
+      HealthGroupsMetricsRegistrar groupsRegistrar) {
+    this.config = config;
+    this.snapshots = snapshots;
+    this.checksRegistrar = checksRegistrar;
+    this.registriesRegistrar = registriesRegistrar;
+    this.groupsRegistrar = groupsRegistrar;
+  }
+
+  // runs after all registrars have discovered their checks
+  void start(@Observes @Priority(Interceptor.Priority.PLATFORM_AFTER) StartupEvent ignored) {
+    if (snapshots.scheduled()) {
+      executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "health-as-metrics-scheduler");
+        thread.setDaemon(true);
+        return thread;
+      });
+      long intervalMillis = config.evaluation().interval().toMillis();
+      executor.scheduleWithFixedDelay(this::refresh, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  void stop(@Observes ShutdownEvent ignored) {
+    Optional.ofNullable(executor).ifPresent(ScheduledExecutorService::shutdownNow);
+  }
+
+  void refresh() {
+    try {
+      // @formatter:off
+      HealthSnapshot members = new HealthSnapshot(
+          checksRegistrar.evaluateHealthChecks(),
+          registriesRegistrar.evaluateHealthRegistries(),
+          Map.of());
+      snapshots.publish(new HealthSnapshot(
+          members.checks(),
+          members.registries(),
+          groupsRegistrar.evaluateGroups(members)));
+      // @formatter:on
+    } catch (RuntimeException e) {
+      LOGGER.warn("Received exception during scheduled health evaluation", e);
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package de.turing85.quarkus.health.as.metrics.runtime.snapshot;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.inject.Singleton;
+
+import de.turing85.quarkus.health.as.metrics.runtime.HealthAsMetricsConfig;
+
+@Singleton
+public class HealthSnapshots {
+  private final boolean scheduled;
+  private final AtomicReference<HealthSnapshot> current;
+
+  HealthSnapshots(HealthAsMetricsConfig config) {
+    this.scheduled = config.evaluation().mode() == HealthAsMetricsConfig.EvaluationMode.SCHEDULED;
+    this.current = new AtomicReference<>(HealthSnapshot.EMPTY);
+  }
+
+  public boolean scheduled() {
+    return scheduled;
+  }
+
+  public HealthSnapshot current() {
+    return current.get();
+  }
+
+  void publish(HealthSnapshot snapshot) {
+    current.set(snapshot);
+  }
+}
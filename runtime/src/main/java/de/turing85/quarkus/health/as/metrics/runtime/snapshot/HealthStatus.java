@@ -0,0 +1,16 @@
+package de.turing85.quarkus.health.as.metrics.runtime.snapshot;
+
+import java.util.Objects;
+
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+public enum HealthStatus {
+  UP, DOWN, UNKNOWN;
+
+  public static HealthStatus of(HealthCheckResponse response) {
+    if (Objects.isNull(response)) {
+      return UNKNOWN;
+    }
+    return response.getStatus() == HealthCheckResponse.Status.UP ? UP : DOWN;
+  }
+}
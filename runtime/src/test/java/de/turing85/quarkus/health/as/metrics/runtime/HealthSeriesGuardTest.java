@@ -0,0 +1,110 @@
+package de.turing85.quarkus.health.as.metrics.runtime;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.runtime.configuration.DurationConverter;
+import io.smallrye.config.PropertiesConfigSource;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HealthSeriesGuardTest {
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void whenNoLimitsAreSetThenAllSeriesAreAccepted() {
+    // GIVEN
+    HealthSeriesGuard guard = guard(Map.of());
+
+    // WHEN & THEN
+    assertTrue(guard.tryAcquireForCheck("check", 1_000));
+    assertTrue(guard.tryAcquireForGroup("group", 1_000));
+    assertTrue(guard.tryAcquireForData("check", "booleanMapper", "key", 1_000));
+    assertEquals(0, overflow("global"));
+  }
+
+  @Test
+  void whenGlobalLimitIsReachedThenSeriesAreRejectedAndCounted() {
+    // GIVEN
+    HealthSeriesGuard guard = guard(Map.of("quarkus.health-as-metrics.limits.global", "5"));
+
+    // WHEN & THEN
+    assertTrue(guard.tryAcquireForCheck("first", 3));
+    assertFalse(guard.tryAcquireForGroup("group", 3));
+    assertTrue(guard.tryAcquireForCheck("second", 2));
+    assertEquals(3, overflow("global"));
+  }
+
+  @Test
+  void whenCheckLimitIsSetThenItTakesPrecedenceOverPerCheckLimit() {
+    // GIVEN
+    // @formatter:off
+    HealthSeriesGuard guard = guard(Map.of(
+        "quarkus.health-as-metrics.limits.per-check", "4",
+        "quarkus.health-as-metrics.limits.checks.big", "10"));
+    // @formatter:on
+
+    // WHEN & THEN
+    assertFalse(guard.tryAcquireForCheck("small", 5));
+    assertTrue(guard.tryAcquireForCheck("big", 5));
+    assertTrue(guard.tryAcquireForData("big", "longMapper", "key", 5));
+    assertFalse(guard.tryAcquireForData("big", "longMapper", "other", 1));
+    assertEquals(6, overflow("check"));
+  }
+
+  @Test
+  void whenMapperLimitIsReachedThenDataIsRejectedAndCounted() {
+    // GIVEN
+    HealthSeriesGuard guard =
+        guard(Map.of("quarkus.health-as-metrics.limits.mappers.booleanMapper", "2"));
+
+    // WHEN & THEN
+    assertTrue(guard.tryAcquireForData("check", "booleanMapper", "first", 2));
+    assertFalse(guard.tryAcquireForData("check", "booleanMapper", "second", 2));
+    assertTrue(guard.tryAcquireForData("check", "longMapper", "third", 2));
+    assertEquals(2, overflow("mapper"));
+  }
+
+  @Test
+  void whenDataIsReleasedThenItsSeriesCanBeAcquiredAgain() {
+    // GIVEN
+    HealthSeriesGuard guard = guard(Map.of("quarkus.health-as-metrics.limits.global", "4"));
+    assertTrue(guard.tryAcquireForData("check", "booleanMapper", "key", 4));
+
+    // WHEN
+    guard.releaseForData("check", "booleanMapper", 4);
+
+    // THEN
+    assertTrue(guard.tryAcquireForData("check", "booleanMapper", "key", 4));
+    assertEquals(0, overflow("global"));
+  }
+
+  private HealthSeriesGuard guard(Map<String, String> properties) {
+    // @formatter:off
+    HealthAsMetricsConfig config = new SmallRyeConfigBuilder()
+        .withMapping(HealthAsMetricsConfig.class)
+        .withConverter(Duration.class, 100, new DurationConverter())
+        .withSources(new PropertiesConfigSource(properties, "test", 100))
+        .build()
+        .getConfigMapping(HealthAsMetricsConfig.class);
+    // @formatter:on
+    return new HealthSeriesGuard(registry, config);
+  }
+
+  private double overflow(String limit) {
+    // @formatter:off
+    Counter counter = registry.find("application.health-check.series.overflow")
+        .tag("limit", limit)
+        .counter();
+    // @formatter:on
+    return Objects.isNull(counter) ? 0 : counter.count();
+  }
+}
@@ -0,0 +1,53 @@
+package de.turing85.quarkus.health.as.metrics.runtime.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HealthResultSlotsTest {
+  private static final Duration MAX_AGE = Duration.ofMinutes(1);
+  private static final Duration MAX_STALENESS = Duration.ofMinutes(1);
+
+  private final HealthResultSlots<String> slots = new HealthResultSlots<>(MAX_STALENESS);
+
+  @Test
+  void whenSlotsAreAllocatedThenIdsAreConsecutive() {
+    // WHEN & THEN
+    assertEquals(0, slots.allocate());
+    assertEquals(1, slots.allocate());
+    assertEquals(2, slots.allocate());
+  }
+
+  @Test
+  void whenResultIsPutThenOnlyItsSlotHoldsIt() {
+    // GIVEN
+    int first = slots.allocate();
+    int second = slots.allocate();
+
+    // WHEN
+    slots.put(first, "first");
+
+    // THEN
+    assertEquals(Optional.of("first"), slots.getIfFresh(first, MAX_AGE));
+    assertEquals(Optional.empty(), slots.getIfFresh(second, MAX_AGE));
+  }
+
+  @Test
+  void whenAllAreInvalidatedThenNextReadEvaluates() {
+    // GIVEN
+    int id = slots.allocate();
+    slots.put(id, "before");
+
+    // WHEN
+    slots.invalidateAll();
+
+    // THEN
+    assertEquals(Optional.empty(), slots.getIfFresh(id, MAX_AGE));
+    assertEquals("after", slots.getOrRefreshAsync(id, MAX_AGE,
+        () -> CompletableFuture.completedFuture("after"), "none"));
+  }
+}
@@ -0,0 +1,200 @@
+package de.turing85.quarkus.health.as.metrics.runtime.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultSlotTest {
+  private static final Duration LONG = Duration.ofMinutes(1);
+  private static final Duration SHORT = Duration.ofMillis(1);
+  private static final String UNKNOWN = "unknown";
+
+  private final ResultSlot<String> slot = new ResultSlot<>();
+  private final AtomicInteger evaluations = new AtomicInteger();
+  private final List<Runnable> refreshes = new ArrayList<>();
+  private final Executor refreshExecutor = refreshes::add;
+  private final ExecutorService readers = Executors.newFixedThreadPool(2);
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @AfterEach
+  void shutdown() {
+    release.countDown();
+    readers.shutdownNow();
+  }
+
+  @Test
+  void whenSlotIsEmptyThenReadEvaluatesOnTheCallingThread() {
+    // WHEN
+    String value = slot.getOrRefresh(LONG, LONG, refreshExecutor, this::evaluate, UNKNOWN);
+
+    // THEN
+    assertEquals("value-1", value);
+    assertEquals(0, refreshes.size());
+  }
+
+  @Test
+  void whenResultIsFreshThenItIsServedWithoutEvaluation() {
+    // GIVEN
+    slot.getOrRefresh(LONG, LONG, refreshExecutor, this::evaluate, UNKNOWN);
+
+    // WHEN
+    String value = slot.getOrRefresh(LONG, LONG, refreshExecutor, this::evaluate, UNKNOWN);
+
+    // THEN
+    assertEquals("value-1", value);
+    assertEquals(1, evaluations.get());
+  }
+
+  @Test
+  void whenResultIsExpiredThenItIsServedWhileRefreshing() throws InterruptedException {
+    // GIVEN
+    slot.getOrRefresh(SHORT, LONG, refreshExecutor, this::evaluate, UNKNOWN);
+    Thread.sleep(5);
+
+    // WHEN
+    String during = slot.getOrRefresh(SHORT, LONG, refreshExecutor, this::evaluate, UNKNOWN);
+    String again = slot.getOrRefresh(SHORT, LONG, refreshExecutor, this::evaluate, UNKNOWN);
+    refreshes.forEach(Runnable::run);
+
+    // THEN
+    assertEquals("value-1", during);
+    assertEquals("value-1", again);
+    assertEquals(1, refreshes.size());
+    assertEquals("value-2", slot.getIfFresh(LONG).orElseThrow());
+  }
+
+  @Test
+  void whenResultIsPastMaxStalenessThenUnknownIsServed() throws InterruptedException {
+    // GIVEN
+    slot.getOrRefresh(SHORT, SHORT, refreshExecutor, this::evaluate, UNKNOWN);
+    Thread.sleep(5);
+
+    // WHEN
+    String value = slot.getOrRefresh(SHORT, SHORT, refreshExecutor, this::evaluate, UNKNOWN);
+
+    // THEN
+    assertEquals(UNKNOWN, value);
+    assertEquals(1, refreshes.size());
+  }
+
+  @Test
+  void whenRefreshFailsThenPreviousResultIsKept() throws InterruptedException {
+    // GIVEN
+    slot.getOrRefresh(SHORT, LONG, refreshExecutor, this::evaluate, UNKNOWN);
+    Thread.sleep(5);
+
+    // WHEN
+    slot.getOrRefresh(SHORT, LONG, refreshExecutor, () -> {
+      throw new IllegalStateException("refresh failed");
+    }, UNKNOWN);
+    refreshes.forEach(Runnable::run);
+
+    // THEN
+    assertEquals("value-1",
+        slot.getOrRefresh(SHORT, LONG, refreshExecutor, this::evaluate, UNKNOWN));
+  }
+
+  @Test
+  void whenReadsAreConcurrentThenCheckIsEvaluatedOnce() throws Exception {
+    // GIVEN
+    Future<String> first = readers.submit(() -> slot.get(LONG, this::evaluateBlocking));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    // WHEN
+    Future<String> second = readers.submit(() -> slot.get(LONG, this::evaluateBlocking));
+    release.countDown();
+
+    // THEN
+    assertEquals("value-1", first.get(5, TimeUnit.SECONDS));
+    assertEquals("value-1", second.get(5, TimeUnit.SECONDS));
+    assertEquals(1, evaluations.get());
+  }
+
+  @Test
+  void whenAsyncReadsAreConcurrentThenTheyShareOneEvaluation() {
+    // GIVEN
+    CompletableFuture<String> evaluation = new CompletableFuture<>();
+    CompletableFuture<String> first = slot.getAsync(LONG, () -> {
+      evaluations.incrementAndGet();
+      return evaluation;
+    });
+
+    // WHEN
+    CompletableFuture<String> second = slot.getAsync(LONG, () -> {
+      evaluations.incrementAndGet();
+      return evaluation;
+    });
+    evaluation.complete("value");
+
+    // THEN
+    assertEquals("value", first.join());
+    assertEquals("value", second.join());
+    assertEquals(1, evaluations.get());
+  }
+
+  @Test
+  void whenSlotIsInvalidatedDuringEvaluationThenResultIsNotStored() throws Exception {
+    // GIVEN
+    Future<String> before = readers.submit(() -> slot.get(LONG, this::evaluateBlocking));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    // WHEN
+    slot.invalidate();
+    release.countDown();
+
+    // THEN
+    assertEquals("value-1", before.get(5, TimeUnit.SECONDS));
+    assertEquals(Optional.empty(), slot.getIfFresh(LONG));
+    assertEquals("value-2", slot.get(LONG, this::evaluate));
+  }
+
+  @Test
+  void whenSlotIsInvalidatedDuringEvaluationThenNextReadDoesNotJoinIt() throws Exception {
+    // GIVEN
+    Future<String> before = readers.submit(() -> slot.get(LONG, this::evaluateBlocking));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    // WHEN
+    slot.invalidate();
+    String after = slot.get(LONG, this::evaluate);
+
+    // THEN
+    assertEquals("value-2", after);
+    assertFalse(before.isDone());
+    release.countDown();
+    assertEquals("value-1", before.get(5, TimeUnit.SECONDS));
+    assertEquals(Optional.of("value-2"), slot.getIfFresh(LONG));
+  }
+
+  private String evaluate() {
+    return "value-" + evaluations.incrementAndGet();
+  }
+
+  private String evaluateBlocking() {
+    String value = evaluate();
+    started.countDown();
+    try {
+      release.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return value;
+  }
+}
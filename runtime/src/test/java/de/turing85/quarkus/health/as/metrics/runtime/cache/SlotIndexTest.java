@@ -0,0 +1,37 @@
+package de.turing85.quarkus.health.as.metrics.runtime.cache;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SlotIndexTest {
+  @Test
+  void whenNothingWasPutThenLookupsReturnNull() {
+    // GIVEN
+    SlotIndex<String> index = new SlotIndex<>();
+
+    // WHEN & THEN
+    assertNull(index.get(0));
+    assertEquals(List.of(), index.values());
+  }
+
+  @Test
+  void whenValuesArePutOutOfOrderThenEachIdReturnsItsValue() {
+    // GIVEN
+    SlotIndex<String> index = new SlotIndex<>();
+
+    // WHEN
+    index.put(2, "third");
+    index.put(0, "first");
+
+    // THEN
+    assertEquals("first", index.get(0));
+    assertNull(index.get(1));
+    assertEquals("third", index.get(2));
+    assertNull(index.get(3));
+    assertEquals(List.of("first", "third"), index.values());
+  }
+}
@@ -0,0 +1,127 @@
+package de.turing85.quarkus.health.as.metrics.runtime.datamappers;
+
+import java.util.List;
+
+import de.turing85.quarkus.health.as.metrics.runtime.HealthAsMetricsBuildTimeConfig.MapperType;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConfiguredMappersTest {
+  @Test
+  void whenNoValuesAreConfiguredThenCreationFails() {
+    // WHEN
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> ConfiguredMappers.create(MapperType.STRING, ".*", List.of(), List.of()));
+
+    // THEN
+    assertEquals("at least one up or down value must be configured", exception.getMessage());
+  }
+
+  @ParameterizedTest
+  // @formatter:off
+  @CsvSource(
+      delimiter = ';',
+      value = {
+          "BOOLEAN;yes",
+          "LONG;many",
+          "LONG;1.5",
+          "DOUBLE;much",
+          "STATUS;MAYBE",
+      })
+  // @formatter:on
+  void whenValueCannotBeParsedThenCreationFails(MapperType type, String value) {
+    // WHEN & THEN
+    assertThrows(IllegalArgumentException.class,
+        () -> ConfiguredMappers.create(type, ".*", List.of(value), List.of()));
+  }
+
+  @ParameterizedTest
+  // @formatter:off
+  @CsvSource(
+      delimiter = ';',
+      value = {
+          "BOOLEAN;true;TRUE",
+          "LONG;1;1",
+          "DOUBLE;1;1.0",
+          "STRING;Primary;PRIMARY",
+          "STATUS;up;UP",
+      })
+  // @formatter:on
+  void whenValueIsBothUpAndDownThenCreationFails(MapperType type, String upValue,
+      String downValue) {
+    // WHEN & THEN
+    assertThrows(IllegalArgumentException.class,
+        () -> ConfiguredMappers.create(type, ".*", List.of(upValue), List.of(downValue)));
+  }
+
+  @Test
+  void whenKeyFilterIsInvalidThenCreationFails() {
+    // WHEN & THEN
+    assertThrows(IllegalArgumentException.class,
+        () -> ConfiguredMappers.create(MapperType.LONG, "(", List.of("1"), List.of()));
+  }
+
+  @ParameterizedTest
+  // @formatter:off
+  @CsvSource(
+      delimiter = ';',
+      value = {
+          "BOOLEAN",
+          "STRING",
+          "STATUS",
+      })
+  // @formatter:on
+  void whenTypeIsNotNumericThenValueMapperCreationFails(MapperType type) {
+    // WHEN & THEN
+    assertThrows(IllegalArgumentException.class,
+        () -> ConfiguredMappers.createValueMapper(type, ".*"));
+  }
+
+  @ParameterizedTest
+  // @formatter:off
+  @CsvSource(
+      delimiter = ';',
+      value = {
+          "PRIMARY;1.0;0.0",
+          "primary;1.0;0.0",
+          "SECONDARY;0.0;1.0",
+      })
+  // @formatter:on
+  void whenOnlyUpValuesAreConfiguredThenOtherValuesAreDown(String value, double up, double down) {
+    // GIVEN
+    HealthResponseDataMapper<?> mapper =
+        ConfiguredMappers.create(MapperType.STRING, "mode", List.of(" Primary "), List.of());
+    HealthCheckResponse response =
+        HealthCheckResponse.named("check").up().withData("mode", value).build();
+
+    // WHEN & THEN
+    assertEquals(up, mapper.checkUpMapper("mode").applyAsDouble(response));
+    assertEquals(down, mapper.checkDownMapper("mode").applyAsDouble(response));
+  }
+
+  @ParameterizedTest
+  // @formatter:off
+  @CsvSource(
+      delimiter = ';',
+      value = {
+          "0;0.0;1.0",
+          "5;1.0;0.0",
+      })
+  // @formatter:on
+  void whenOnlyDownValuesAreConfiguredThenOtherValuesAreUp(long value, double up, double down) {
+    // GIVEN
+    HealthResponseDataMapper<?> mapper =
+        ConfiguredMappers.create(MapperType.LONG, "connections", List.of(), List.of("0"));
+    HealthCheckResponse response =
+        HealthCheckResponse.named("check").up().withData("connections", value).build();
+
+    // WHEN & THEN
+    assertEquals(up, mapper.checkUpMapper("connections").applyAsDouble(response));
+    assertEquals(down, mapper.checkDownMapper("connections").applyAsDouble(response));
+  }
+}
@@ -0,0 +1,81 @@
+package de.turing85.quarkus.health.as.metrics.runtime.datamappers;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataMapperDispatcherTest {
+  private static final List<String> KEYS =
+      List.of("", "connections", "Connections", "connections-1", "a.b", "axb", "line\nbreak",
+          "carriage\rreturn", "next\u0085line", "pool-size");
+
+  @ParameterizedTest
+  // @formatter:off
+  @CsvSource(
+      delimiter = ';',
+      value = {
+          "connections",
+          ".*",
+          "a.b",
+          "pool-.*",
+          "connections|pool-size",
+          "connections-\\d",
+      })
+  // @formatter:on
+  void whenKeyIsTestedThenFilterAgreesWithRegularExpression(String regex) {
+    // GIVEN
+    Pattern pattern = Pattern.compile(regex);
+
+    // WHEN
+    Predicate<String> keyFilter = DataMapperDispatcher.keyFilterOf(pattern);
+
+    // THEN
+    for (String key : KEYS) {
+      assertEquals(pattern.matcher(key).matches(), keyFilter.test(key), key);
+    }
+  }
+
+  @Test
+  void whenFilterIsLiteralThenOnlyTheKeyMatches() {
+    // WHEN
+    Predicate<String> keyFilter = DataMapperDispatcher.keyFilterOf(Pattern.compile("connections"));
+
+    // THEN
+    assertTrue(keyFilter.test("connections"));
+    assertFalse(keyFilter.test("Connections"));
+    assertFalse(keyFilter.test("connections-1"));
+  }
+
+  @Test
+  void whenFilterMatchesAllThenLineTerminatorsDoNotMatch() {
+    // WHEN
+    Predicate<String> keyFilter = DataMapperDispatcher.keyFilterOf(Pattern.compile(".*"));
+
+    // THEN
+    assertTrue(keyFilter.test(""));
+    assertTrue(keyFilter.test("any key"));
+    assertFalse(keyFilter.test("line\nbreak"));
+    assertFalse(keyFilter.test("paragraph separator"));
+  }
+
+  @Test
+  void whenPatternHasFlagsThenItIsEvaluatedAsRegularExpression() {
+    // WHEN
+    Predicate<String> literal =
+        DataMapperDispatcher.keyFilterOf(Pattern.compile("connections", Pattern.CASE_INSENSITIVE));
+    Predicate<String> matchAll =
+        DataMapperDispatcher.keyFilterOf(Pattern.compile(".*", Pattern.DOTALL));
+
+    // THEN
+    assertTrue(literal.test("Connections"));
+    assertTrue(matchAll.test("line\nbreak"));
+  }
+}